@@ -27,6 +27,9 @@ package java.lang;
 import java.io.InputStream;
 import java.io.IOException;
 import java.io.File;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.net.MalformedURLException;
@@ -234,11 +237,16 @@ public abstract class ClassLoader {
     }
 
     // Maps class name to the corresponding lock object when the current
-    // class loader is parallel capable.
+    // class loader is parallel capable.  The values are LockRefs: a lock
+    // is only weakly held, so its entry is dropped once no thread uses it.
     // Note: VM also uses this field to decide if the current class loader
     // is parallel capable and the appropriate lock object for class loading.
     private final ConcurrentHashMap<String, Object> parallelLockMap;
 
+    // Receives the LockRefs in parallelLockMap whose lock has been
+    // collected; null if the class loader is not parallel capable.
+    private final ReferenceQueue<Object> lockQueue;
+
     // Hashtable that maps packages to certs
     private final Map <String, Certificate[]> package2certs;
 
@@ -280,6 +288,7 @@ public abstract class ClassLoader {
         this.parent = parent;
         if (ParallelLoaders.isRegistered(this.getClass())) {
             parallelLockMap = new ConcurrentHashMap<>();
+            lockQueue = new ReferenceQueue<>();
             package2certs = new ConcurrentHashMap<>();
             domains =
                 Collections.synchronizedSet(new HashSet<ProtectionDomain>());
@@ -287,6 +296,7 @@ public abstract class ClassLoader {
         } else {
             // no finer-grained lock; lock on the classloader instance
             parallelLockMap = null;
+            lockQueue = null;
             package2certs = new Hashtable<>();
             domains = new HashSet<>();
             assertionLock = this;
@@ -385,7 +395,8 @@ public abstract class ClassLoader {
      *
      * <p> Unless overridden, this method synchronizes on the result of
      * {@link #getClassLoadingLock <tt>getClassLoadingLock</tt>} method
-     * during the entire class loading process.
+     * during the entire class loading process.  A class that has already
+     * been loaded is returned without taking that lock.
      *
      * @param  name
      *         The <a href="#name">binary name</a> of the class
@@ -401,39 +412,43 @@ public abstract class ClassLoader {
     protected Class<?> loadClass(String name, boolean resolve)
         throws ClassNotFoundException
     {
-        synchronized (getClassLoadingLock(name)) {
-            // First, check if the class has already been loaded
-            Class<?> c = findLoadedClass(name);
-            if (c == null) {
-                long t0 = System.nanoTime();
-                try {
-                    if (parent != null) {
-                        c = parent.loadClass(name, false);
-                    } else {
-                        c = findBootstrapClassOrNull(name);
+        // First, check if the class has already been loaded; that needs
+        // no lock, as the VM records it once the class is defined
+        Class<?> c = findLoadedClass(name);
+        if (c == null) {
+            synchronized (getClassLoadingLock(name)) {
+                c = findLoadedClass(name);
+                if (c == null) {
+                    long t0 = System.nanoTime();
+                    try {
+                        if (parent != null) {
+                            c = parent.loadClass(name, false);
+                        } else {
+                            c = findBootstrapClassOrNull(name);
+                        }
+                    } catch (ClassNotFoundException e) {
+                        // ClassNotFoundException thrown if class not found
+                        // from the non-null parent class loader
                     }
-                } catch (ClassNotFoundException e) {
-                    // ClassNotFoundException thrown if class not found
-                    // from the non-null parent class loader
-                }
 
-                if (c == null) {
-                    // If still not found, then invoke findClass in order
-                    // to find the class.
-                    long t1 = System.nanoTime();
-                    c = findClass(name);
-
-                    // this is the defining class loader; record the stats
-                    sun.misc.PerfCounter.getParentDelegationTime().addTime(t1 - t0);
-                    sun.misc.PerfCounter.getFindClassTime().addElapsedTimeFrom(t1);
-                    sun.misc.PerfCounter.getFindClasses().increment();
+                    if (c == null) {
+                        // If still not found, then invoke findClass in order
+                        // to find the class.
+                        long t1 = System.nanoTime();
+                        c = findClass(name);
+
+                        // this is the defining class loader; record the stats
+                        sun.misc.PerfCounter.getParentDelegationTime().addTime(t1 - t0);
+                        sun.misc.PerfCounter.getFindClassTime().addElapsedTimeFrom(t1);
+                        sun.misc.PerfCounter.getFindClasses().increment();
+                    }
                 }
             }
-            if (resolve) {
-                resolveClass(c);
-            }
-            return c;
         }
+        if (resolve) {
+            resolveClass(c);
+        }
+        return c;
     }
 
     /**
@@ -444,6 +459,11 @@ public abstract class ClassLoader {
      * with the specified class name. Otherwise, the method returns this
      * ClassLoader object.
      *
+     * <p> The object associated with a class name is the same for as long
+     * as it is reachable, so callers that synchronize on it exclude each
+     * other.  Once it is no longer in use it may be discarded, and a later
+     * call may return a new object for the same name.
+     *
      * @param  className
      *         The name of the to-be-loaded class
      *
@@ -459,15 +479,45 @@ public abstract class ClassLoader {
     protected Object getClassLoadingLock(String className) {
         Object lock = this;
         if (parallelLockMap != null) {
-            Object newLock = new Object();
-            lock = parallelLockMap.putIfAbsent(className, newLock);
-            if (lock == null) {
-                lock = newLock;
+            expungeClassLoadingLocks();
+            Object newLock = null;
+            for (;;) {
+                Object ref = parallelLockMap.get(className);
+                if (ref != null && (lock = ((LockRef) ref).get()) != null) {
+                    return lock;
+                }
+                if (newLock == null) {
+                    newLock = new Object();
+                }
+                LockRef newRef = new LockRef(className, newLock, lockQueue);
+                if (ref == null
+                    ? parallelLockMap.putIfAbsent(className, newRef) == null
+                    : parallelLockMap.replace(className, ref, newRef)) {
+                    return newLock;
+                }
             }
         }
         return lock;
     }
 
+    // Removes the entries of parallelLockMap whose lock has been collected.
+    private void expungeClassLoadingLocks() {
+        Reference<?> ref;
+        while ((ref = lockQueue.poll()) != null) {
+            parallelLockMap.remove(((LockRef) ref).className, ref);
+        }
+    }
+
+    // A weak reference to a class loading lock, remembering its class name
+    private static final class LockRef extends WeakReference<Object> {
+        final String className;
+
+        LockRef(String className, Object lock, ReferenceQueue<Object> queue) {
+            super(lock, queue);
+            this.className = className;
+        }
+    }
+
     // This method is invoked by the virtual machine to load a class.
     private Class<?> loadClassInternal(String name)
         throws ClassNotFoundException
@@ -2175,7 +2175,7 @@ public final class String
      * @spec JSR-51
      */
     public String replaceFirst(String regex, String replacement) {
-        return Pattern.compile(regex).matcher(this).replaceFirst(replacement);
+        return Pattern.cached(regex).matcher(this).replaceFirst(replacement);
     }
 
     /**
@@ -2220,7 +2220,7 @@ public final class String
      * @spec JSR-51
      */
     public String replaceAll(String regex, String replacement) {
-        return Pattern.compile(regex).matcher(this).replaceAll(replacement);
+        return Pattern.cached(regex).matcher(this).replaceAll(replacement);
     }
 
     /**
@@ -2377,7 +2377,7 @@ public final class String
             String[] result = new String[resultSize];
             return list.subList(0, resultSize).toArray(result);
         }
-        return Pattern.compile(regex).split(this, limit);
+        return Pattern.cached(regex).split(this, limit);
     }
 
     /**
@@ -240,6 +240,21 @@ public final class HttpCookie implements Cloneable {
             return false;
     }
 
+    /*
+     * Returns the time, in milliseconds since the epoch, from which
+     * hasExpired() returns true, or Long.MAX_VALUE if that never happens.
+     */
+    long expiryTime() {
+        if (maxAge == MAX_AGE_UNSPECIFIED)
+            return Long.MAX_VALUE;
+        if (maxAge <= 0)
+            return Long.MIN_VALUE;
+        if (maxAge >= (Long.MAX_VALUE - whenCreated) / 1000 - 1)
+            return Long.MAX_VALUE;
+        // hasExpired() compares whole seconds
+        return whenCreated + (maxAge + 1) * 1000;
+    }
+
     /**
      * Specifies a comment that describes a cookie's purpose.
      * The comment is useful if the browser presents the cookie
@@ -33,40 +33,59 @@ import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.concurrent.locks.StampedLock;
 
 /**
  * A simple in-memory java.net.CookieStore implementation
  *
+ * <p> Cookies are indexed by their lower-cased domain and by the effective
+ * URI they were added with.  A cookie domain can only match a host if it
+ * is a suffix of the host, the host with a leading dot, or a {@code .local}
+ * domain, so {@link #get(URI)} probes those keys instead of scanning every
+ * domain.  Cookies with a max-age are also kept in a set ordered by expiry
+ * time, so expired cookies are purged without a scan.  Lookups share a read
+ * lock; modifications take the write lock.
+ *
  * @author Edward Wang
  * @since 1.6
  */
 class InMemoryCookieStore implements CookieStore {
-    // the in-memory representation of cookies
-    private List<HttpCookie> cookieJar = null;
+    // the in-memory representation of cookies, in insertion order
+    private final Map<HttpCookie, Entry> cookieJar;
+
+    // the cookies are indexed by their lower-cased domain and associated
+    // uri (if present); a cookie removed from cookieJar is removed from
+    // both indexes as well
+    private final Map<String, List<Entry>> domainIndex;
+    private final Map<URI, List<Entry>> uriIndex;
 
-    // the cookies are indexed by its domain and associated uri (if present)
-    // CAUTION: when a cookie removed from main data structure (i.e. cookieJar),
-    //          it won't be cleared in domainIndex & uriIndex. Double-check the
-    //          presence of cookie when retrieve one form index store.
-    private Map<String, List<HttpCookie>> domainIndex = null;
-    private Map<URI, List<HttpCookie>> uriIndex = null;
+    // the cookies that have a max-age, ordered by expiry time; a cookie
+    // removed from the indexes is removed from here as well
+    private final TreeSet<Entry> expiryQueue;
 
-    // use ReentrantLock instead of syncronized for scalability
-    private ReentrantLock lock = null;
+    // sequence number of the next entry, which orders entries that expire
+    // at the same time
+    private long nextSeq;
+
+    // read lock for lookups, write lock for modifications
+    private final StampedLock lock;
 
 
     /**
      * The default ctor
      */
     public InMemoryCookieStore() {
-        cookieJar = new ArrayList<HttpCookie>();
-        domainIndex = new HashMap<String, List<HttpCookie>>();
-        uriIndex = new HashMap<URI, List<HttpCookie>>();
+        cookieJar = new LinkedHashMap<HttpCookie, Entry>();
+        domainIndex = new HashMap<String, List<Entry>>();
+        uriIndex = new HashMap<URI, List<Entry>>();
+        expiryQueue = new TreeSet<Entry>();
 
-        lock = new ReentrantLock(false);
+        lock = new StampedLock();
     }
 
     /**
@@ -78,26 +97,35 @@ class InMemoryCookieStore implements CookieStore {
             throw new NullPointerException("cookie is null");
         }
 
-
-        lock.lock();
+        URI effectiveURI = (uri != null) ? getEffectiveURI(uri) : null;
+        long stamp = lock.writeLock();
         try {
-            // remove the ole cookie if there has had one
-            cookieJar.remove(cookie);
+            purgeExpired();
+
+            // remove the old cookie if there has had one
+            Entry old = cookieJar.remove(cookie);
+            if (old != null) {
+                unindex(old);
+            }
 
             // add new cookie if it has a non-zero max-age
             if (cookie.getMaxAge() != 0) {
-                cookieJar.add(cookie);
+                Entry e = new Entry(cookie, effectiveURI, nextSeq++);
+                cookieJar.put(cookie, e);
                 // and add it to domain index
-                if (cookie.getDomain() != null) {
-                    addIndex(domainIndex, cookie.getDomain(), cookie);
+                if (e.domain != null) {
+                    addIndex(domainIndex, e.domainKey, e);
                 }
-                if (uri != null) {
-                    // add it to uri index, too
-                    addIndex(uriIndex, getEffectiveURI(uri), cookie);
+                // add it to uri index, too
+                if (e.uri != null) {
+                    addIndex(uriIndex, e.uri, e);
+                }
+                if (e.expiry != Long.MAX_VALUE) {
+                    expiryQueue.add(e);
                 }
             }
         } finally {
-            lock.unlock();
+            lock.unlockWrite(stamp);
         }
     }
 
@@ -117,14 +145,36 @@ class InMemoryCookieStore implements CookieStore {
 
         List<HttpCookie> cookies = new ArrayList<HttpCookie>();
         boolean secureLink = "https".equalsIgnoreCase(uri.getScheme());
-        lock.lock();
+        String host = uri.getHost();
+        URI effectiveURI = getEffectiveURI(uri);
+        List<Entry> expired = new ArrayList<Entry>(0);
+        boolean purge;
+        long stamp = lock.readLock();
         try {
             // check domainIndex first
-            getInternal1(cookies, domainIndex, uri.getHost(), secureLink);
+            getByDomain(cookies, expired, host, secureLink);
             // check uriIndex then
-            getInternal2(cookies, uriIndex, getEffectiveURI(uri), secureLink);
+            getByURI(cookies, expired, effectiveURI, host, secureLink);
+
+            purge = !expired.isEmpty() ||
+                (!expiryQueue.isEmpty() &&
+                 expiryQueue.first().expiry <= System.currentTimeMillis());
         } finally {
-            lock.unlock();
+            lock.unlockRead(stamp);
+        }
+
+        if (purge) {
+            stamp = lock.writeLock();
+            try {
+                for (Entry e : expired) {
+                    if (!e.removed && e.cookie.hasExpired()) {
+                        remove(e);
+                    }
+                }
+                purgeExpired();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
         }
 
         return cookies;
@@ -136,20 +186,24 @@ class InMemoryCookieStore implements CookieStore {
     public List<HttpCookie> getCookies() {
         List<HttpCookie> rt;
 
-        lock.lock();
+        long stamp = lock.writeLock();
         try {
-            Iterator<HttpCookie> it = cookieJar.iterator();
+            rt = new ArrayList<HttpCookie>(cookieJar.size());
+            Iterator<Entry> it = cookieJar.values().iterator();
             while (it.hasNext()) {
-                if (it.next().hasExpired()) {
+                Entry e = it.next();
+                if (e.cookie.hasExpired()) {
                     it.remove();
+                    unindex(e);
+                } else {
+                    rt.add(e.cookie);
                 }
             }
         } finally {
-            rt = Collections.unmodifiableList(cookieJar);
-            lock.unlock();
+            lock.unlockWrite(stamp);
         }
 
-        return rt;
+        return Collections.unmodifiableList(rt);
     }
 
     /**
@@ -157,26 +211,13 @@ class InMemoryCookieStore implements CookieStore {
      * of this cookie store.
      */
     public List<URI> getURIs() {
-        List<URI> uris = new ArrayList<URI>();
-
-        lock.lock();
+        // uris without cookies are dropped from the index as they empty
+        long stamp = lock.readLock();
         try {
-            Iterator<URI> it = uriIndex.keySet().iterator();
-            while (it.hasNext()) {
-                URI uri = it.next();
-                List<HttpCookie> cookies = uriIndex.get(uri);
-                if (cookies == null || cookies.size() == 0) {
-                    // no cookies list or an empty list associated with
-                    // this uri entry, delete it
-                    it.remove();
-                }
-            }
+            return new ArrayList<URI>(uriIndex.keySet());
         } finally {
-            uris.addAll(uriIndex.keySet());
-            lock.unlock();
+            lock.unlockRead(stamp);
         }
-
-        return uris;
     }
 
 
@@ -189,15 +230,17 @@ class InMemoryCookieStore implements CookieStore {
             throw new NullPointerException("cookie is null");
         }
 
-        boolean modified = false;
-        lock.lock();
+        long stamp = lock.writeLock();
         try {
-            modified = cookieJar.remove(ck);
+            Entry e = cookieJar.remove(ck);
+            if (e == null) {
+                return false;
+            }
+            unindex(e);
+            return true;
         } finally {
-            lock.unlock();
+            lock.unlockWrite(stamp);
         }
-
-        return modified;
     }
 
 
@@ -205,7 +248,7 @@ class InMemoryCookieStore implements CookieStore {
      * Remove all cookies in this cookie store.
      */
     public boolean removeAll() {
-        lock.lock();
+        long stamp = lock.writeLock();
         try {
             if (cookieJar.isEmpty()) {
                 return false;
@@ -213,8 +256,9 @@ class InMemoryCookieStore implements CookieStore {
             cookieJar.clear();
             domainIndex.clear();
             uriIndex.clear();
+            expiryQueue.clear();
         } finally {
-            lock.unlock();
+            lock.unlockWrite(stamp);
         }
 
         return true;
@@ -223,6 +267,36 @@ class InMemoryCookieStore implements CookieStore {
 
     /* ---------------- Private operations -------------- */
 
+    /*
+     * A cookie in the store, with the domain and uri it is indexed by.
+     * Entries are ordered by expiry time, then by the order in which they
+     * were added; an entry's expiry is only changed while it is not in
+     * the expiry queue.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        final HttpCookie cookie;
+        final String domain;
+        final String domainKey;
+        final URI uri;
+        final long seq;
+        long expiry;
+        boolean removed;
+
+        Entry(HttpCookie cookie, URI uri, long seq) {
+            this.cookie = cookie;
+            this.domain = cookie.getDomain();
+            this.domainKey = (domain != null) ? domain.toLowerCase(Locale.ROOT) : null;
+            this.uri = uri;
+            this.seq = seq;
+            this.expiry = cookie.expiryTime();
+        }
+
+        public int compareTo(Entry other) {
+            int c = Long.compare(expiry, other.expiry);
+            return (c != 0) ? c : Long.compare(seq, other.seq);
+        }
+    }
+
 
     /*
      * This is almost the same as HttpCookie.domainMatches except for
@@ -277,100 +351,135 @@ class InMemoryCookieStore implements CookieStore {
         return false;
     }
 
-    private void getInternal1(List<HttpCookie> cookies, Map<String, List<HttpCookie>> cookieIndex,
+    // whether the domain 'e' is indexed by matches 'host', as decided by
+    // the version of its cookie
+    private boolean domainMatches(Entry e, String host) {
+        int version = e.cookie.getVersion();
+        return (version == 0 && netscapeDomainMatches(e.domain, host)) ||
+                (version == 1 && HttpCookie.domainMatches(e.domain, host));
+    }
+
+    // Adds the cookies whose domain matches 'host' to 'cookies', and the
+    // expired ones to 'expired'.  Both domain matching rules only accept a
+    // domain that is a suffix of the host containing a dot past its first
+    // character, the host preceded by a dot, or .local and host.local for
+    // a host without dots, so only those keys of domainIndex are probed.
+    private void getByDomain(List<HttpCookie> cookies, List<Entry> expired,
             String host, boolean secureLink) {
-        // Use a separate list to handle cookies that need to be removed so
-        // that there is no conflict with iterators.
-        ArrayList<HttpCookie> toRemove = new ArrayList<HttpCookie>();
-        for (Map.Entry<String, List<HttpCookie>> entry : cookieIndex.entrySet()) {
-            String domain = entry.getKey();
-            List<HttpCookie> lst = entry.getValue();
-            for (HttpCookie c : lst) {
-                if ((c.getVersion() == 0 && netscapeDomainMatches(domain, host)) ||
-                        (c.getVersion() == 1 && HttpCookie.domainMatches(domain, host))) {
-                    if ((cookieJar.indexOf(c) != -1)) {
-                        // the cookie still in main cookie store
-                        if (!c.hasExpired()) {
-                            // don't add twice and make sure it's the proper
-                            // security level
-                            if ((secureLink || !c.getSecure()) &&
-                                    !cookies.contains(c)) {
-                                cookies.add(c);
-                            }
-                        } else {
-                            toRemove.add(c);
-                        }
-                    } else {
-                        // the cookie has beed removed from main store,
-                        // so also remove it from domain indexed store
-                        toRemove.add(c);
+        if (host == null) {
+            return;
+        }
+        String key = host.toLowerCase(Locale.ROOT);
+        int lastDot = key.lastIndexOf('.');
+        for (int i = 0; i < lastDot; i++) {
+            getByDomain(cookies, expired, key.substring(i), host, secureLink);
+        }
+        getByDomain(cookies, expired, "." + key, host, secureLink);
+        getByDomain(cookies, expired, ".local", host, secureLink);
+        if (lastDot == -1) {
+            getByDomain(cookies, expired, key + ".local", host, secureLink);
+        }
+    }
+
+    private void getByDomain(List<HttpCookie> cookies, List<Entry> expired,
+            String domainKey, String host, boolean secureLink) {
+        List<Entry> lst = domainIndex.get(domainKey);
+        if (lst != null) {
+            for (Entry e : lst) {
+                if (domainMatches(e, host)) {
+                    HttpCookie c = e.cookie;
+                    if (c.hasExpired()) {
+                        expired.add(e);
+                    } else if (secureLink || !c.getSecure()) {
+                        // make sure it's the proper security level
+                        cookies.add(c);
                     }
                 }
             }
-            // Clear up the cookies that need to be removed
-            for (HttpCookie c : toRemove) {
-                lst.remove(c);
-                cookieJar.remove(c);
+        }
+    }
 
+    // Adds the cookies associated with 'effectiveURI' to 'cookies', except
+    // for those already added by getByDomain, and the expired ones to
+    // 'expired'.
+    private void getByURI(List<HttpCookie> cookies, List<Entry> expired,
+            URI effectiveURI, String host, boolean secureLink) {
+        List<Entry> lst = uriIndex.get(effectiveURI);
+        if (lst != null) {
+            for (Entry e : lst) {
+                HttpCookie c = e.cookie;
+                if (c.hasExpired()) {
+                    expired.add(e);
+                } else if ((secureLink || !c.getSecure()) &&
+                        (e.domain == null || !domainMatches(e, host))) {
+                    // don't add twice
+                    cookies.add(c);
+                }
             }
-            toRemove.clear();
         }
     }
 
-    // @param cookies           [OUT] contains the found cookies
-    // @param cookieIndex       the index
-    // @param comparator        the prediction to decide whether or not
-    //                          a cookie in index should be returned
-    private <T> void getInternal2(List<HttpCookie> cookies,
-                                Map<T, List<HttpCookie>> cookieIndex,
-                                Comparable<T> comparator, boolean secureLink)
-    {
-        for (T index : cookieIndex.keySet()) {
-            if (comparator.compareTo(index) == 0) {
-                List<HttpCookie> indexedCookies = cookieIndex.get(index);
-                // check the list of cookies associated with this domain
-                if (indexedCookies != null) {
-                    Iterator<HttpCookie> it = indexedCookies.iterator();
-                    while (it.hasNext()) {
-                        HttpCookie ck = it.next();
-                        if (cookieJar.indexOf(ck) != -1) {
-                            // the cookie still in main cookie store
-                            if (!ck.hasExpired()) {
-                                // don't add twice
-                                if ((secureLink || !ck.getSecure()) &&
-                                        !cookies.contains(ck))
-                                    cookies.add(ck);
-                            } else {
-                                it.remove();
-                                cookieJar.remove(ck);
-                            }
-                        } else {
-                            // the cookie has beed removed from main store,
-                            // so also remove it from domain indexed store
-                            it.remove();
-                        }
-                    }
-                } // end of indexedCookies != null
-            } // end of comparator.compareTo(index) == 0
-        } // end of cookieIndex iteration
+    // Removes the cookies whose expiry time has passed; the write lock
+    // must be held.  A cookie whose max-age was changed after it was added
+    // is queued again at its new expiry time.
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        Entry e;
+        while (!expiryQueue.isEmpty() &&
+               (e = expiryQueue.first()).expiry <= now) {
+            expiryQueue.pollFirst();
+            if (e.cookie.hasExpired()) {
+                remove(e);
+            } else {
+                e.expiry = e.cookie.expiryTime();
+                if (e.expiry != Long.MAX_VALUE) {
+                    expiryQueue.add(e);
+                }
+            }
+        }
+    }
+
+    // Removes 'e' from the store; the write lock must be held.
+    private void remove(Entry e) {
+        if (cookieJar.get(e.cookie) == e) {
+            cookieJar.remove(e.cookie);
+        }
+        unindex(e);
+    }
+
+    // Removes 'e' from the indexes; the write lock must be held.
+    private void unindex(Entry e) {
+        e.removed = true;
+        if (e.expiry != Long.MAX_VALUE) {
+            expiryQueue.remove(e);
+        }
+        removeIndex(domainIndex, e.domainKey, e);
+        removeIndex(uriIndex, e.uri, e);
     }
 
     // add 'cookie' indexed by 'index' into 'indexStore'
-    private <T> void addIndex(Map<T, List<HttpCookie>> indexStore,
+    private <T> void addIndex(Map<T, List<Entry>> indexStore,
                               T index,
-                              HttpCookie cookie)
+                              Entry cookie)
     {
-        if (index != null) {
-            List<HttpCookie> cookies = indexStore.get(index);
-            if (cookies != null) {
-                // there may already have the same cookie, so remove it first
-                cookies.remove(cookie);
+        List<Entry> cookies = indexStore.get(index);
+        if (cookies == null) {
+            cookies = new ArrayList<Entry>(2);
+            indexStore.put(index, cookies);
+        }
+        cookies.add(cookie);
+    }
 
-                cookies.add(cookie);
-            } else {
-                cookies = new ArrayList<HttpCookie>();
-                cookies.add(cookie);
-                indexStore.put(index, cookies);
+    // remove 'cookie' indexed by 'index' from 'indexStore', dropping the
+    // index once it has no cookies left
+    private <T> void removeIndex(Map<T, List<Entry>> indexStore,
+                                 T index,
+                                 Entry cookie)
+    {
+        if (index != null) {
+            List<Entry> cookies = indexStore.get(index);
+            if (cookies != null && cookies.remove(cookie) && cookies.isEmpty()) {
+                indexStore.remove(index);
             }
         }
     }
@@ -25,6 +25,7 @@
 
 package java.net;
 
+import java.io.IOException;
 import java.io.ObjectStreamException;
 
 /**
@@ -91,6 +92,9 @@ class Inet4Address extends InetAddress {
      *  serialized */
     private static final long serialVersionUID = 3286316764910316507L;
 
+    // The textual presentation of the address, made on first use
+    private transient String hostAddress;
+
     /*
      * Perform initializations.
      */
@@ -325,7 +329,30 @@ class Inet4Address extends InetAddress {
      * @since   JDK1.0.2
      */
     public String getHostAddress() {
-        return numericToTextFormat(getAddress());
+        String s = hostAddress;
+        if (s == null) {
+            hostAddress = s = numericToTextFormat(getAddress());
+        }
+        return s;
+    }
+
+    /**
+     * Appends the IP address string in textual presentation form to the
+     * given {@code Appendable}, without allocating.
+     *
+     * @param   out   the {@code Appendable} the address is appended to.
+     * @exception  IOException  if {@code out} throws one.
+     * @since 1.8
+     */
+    public void appendHostAddress(Appendable out) throws IOException {
+        int address = holder().getAddress();
+        appendDecimal((address >>> 24) & 0xFF, out);
+        out.append('.');
+        appendDecimal((address >>> 16) & 0xFF, out);
+        out.append('.');
+        appendDecimal((address >>> 8) & 0xFF, out);
+        out.append('.');
+        appendDecimal(address & 0xFF, out);
     }
 
     /**
@@ -31,7 +31,6 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamField;
 import java.util.Enumeration;
-import java.util.Arrays;
 
 /**
  * This class represents an Internet Protocol version 6 (IPv6) address.
@@ -227,10 +226,27 @@ class Inet6Address extends InetAddress {
          */
         boolean scope_ifname_set; // false;
 
+        /**
+         * The textual presentation of the address with its scope, made on
+         * first use.
+         */
+        String hostAddress;
+
+        /**
+         * The address as two longs, and its hash code, made on first
+         * use; valid once bitsSet is set.
+         */
+        long highBits, lowBits;
+        int hash;
+        volatile boolean bitsSet;
+
         void setAddr(byte addr[]) {
             if (addr.length == INADDRSZ) { // normal IPv6 address
                 System.arraycopy(addr, 0, ipaddress, 0, INADDRSZ);
             }
+            // the address, and by way of init the scope, may have changed
+            hostAddress = null;
+            bitsSet = false;
         }
 
         void init(byte addr[], int scope_id) {
@@ -256,41 +272,75 @@ class Inet6Address extends InetAddress {
         }
 
         String getHostAddress() {
-            String s = numericToTextFormat(ipaddress);
-            if (scope_ifname != null) { /* must check this first */
-                s = s + "%" + scope_ifname.getName();
-            } else if (scope_id_set) {
-                s = s + "%" + scope_id;
+            String s = hostAddress;
+            if (s == null) {
+                s = numericToTextFormat(ipaddress);
+                if (scope_ifname != null) { /* must check this first */
+                    s = s + "%" + scope_ifname.getName();
+                } else if (scope_id_set) {
+                    s = s + "%" + scope_id;
+                }
+                hostAddress = s;
             }
             return s;
         }
 
+        private void setBits() {
+            long hi = 0, lo = 0;
+            for (int i = 0; i < 8; i++) {
+                hi = (hi << 8) | (ipaddress[i] & 0xff);
+                lo = (lo << 8) | (ipaddress[i + 8] & 0xff);
+            }
+
+            int h = 0;
+            int i=0;
+            while (i<INADDRSZ) {
+                int j=0;
+                int component=0;
+                while (j<4 && i<INADDRSZ) {
+                    component = (component << 8) + ipaddress[i];
+                    j++;
+                    i++;
+                }
+                h += component;
+            }
+
+            highBits = hi;
+            lowBits = lo;
+            hash = h;
+            bitsSet = true;
+        }
+
+        long highBits() {
+            if (!bitsSet) {
+                setBits();
+            }
+            return highBits;
+        }
+
+        long lowBits() {
+            if (!bitsSet) {
+                setBits();
+            }
+            return lowBits;
+        }
+
         public boolean equals(Object o) {
             if (! (o instanceof Inet6AddressHolder)) {
                 return false;
             }
             Inet6AddressHolder that = (Inet6AddressHolder)o;
 
-            return Arrays.equals(this.ipaddress, that.ipaddress);
+            return this.highBits() == that.highBits()
+                && this.lowBits() == that.lowBits();
         }
 
         public int hashCode() {
             if (ipaddress != null) {
-
-                int hash = 0;
-                int i=0;
-                while (i<INADDRSZ) {
-                    int j=0;
-                    int component=0;
-                    while (j<4 && i<INADDRSZ) {
-                        component = (component << 8) + ipaddress[i];
-                        j++;
-                        i++;
-                    }
-                    hash += component;
+                if (!bitsSet) {
+                    setBits();
                 }
                 return hash;
-
             } else {
                 return 0;
             }
@@ -872,6 +922,46 @@ class Inet6Address extends InetAddress {
         return holder6.getHostAddress();
     }
 
+    /**
+     * Appends the IP address string in textual presentation, as returned
+     * by {@link #getHostAddress()}, to the given {@code Appendable}.  The
+     * string is made on first use and appended as is afterwards.
+     *
+     * @param   out   the {@code Appendable} the address is appended to.
+     * @exception  IOException  if {@code out} throws one.
+     * @since 1.8
+     */
+    @Override
+    public void appendHostAddress(Appendable out) throws IOException {
+        out.append(holder6.getHostAddress());
+    }
+
+    /**
+     * Returns the most significant 64 bits of this address, the first
+     * eight bytes of {@link #getAddress()} in network byte order.
+     * Together with {@link #getLeastSignificantBits()} it identifies the
+     * address without its scope, as {@link #equals(Object)} does, and lets
+     * callers key tables by two {@code long}s instead of an object.
+     *
+     * @return  the most significant 64 bits of this address.
+     * @since 1.8
+     */
+    public long getMostSignificantBits() {
+        return holder6.highBits();
+    }
+
+    /**
+     * Returns the least significant 64 bits of this address, the last
+     * eight bytes of {@link #getAddress()} in network byte order.
+     *
+     * @return  the least significant 64 bits of this address.
+     * @see #getMostSignificantBits()
+     * @since 1.8
+     */
+    public long getLeastSignificantBits() {
+        return holder6.lowBits();
+    }
+
     /**
      * Returns a hashcode for this IP address.
      *
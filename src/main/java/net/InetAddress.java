@@ -25,15 +25,28 @@
 
 package java.net;
 
-import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.Random;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.net.spi.InetAddressResolver;
+import java.net.spi.InetAddressResolverProvider;
+import java.security.AccessControlContext;
 import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
 import java.io.ObjectStreamException;
 import java.io.ObjectStreamField;
 import java.io.IOException;
@@ -611,50 +624,44 @@ class InetAddress implements java.io.Serializable {
      */
     private static String getHostFromNameService(InetAddress addr, boolean check) {
         String host = null;
-        for (NameService nameService : nameServices) {
-            try {
-                // first lookup the hostname
-                host = nameService.getHostByAddr(addr.getAddress());
-
-                /* check to see if calling code is allowed to know
-                 * the hostname for this IP address, ie, connect to the host
-                 */
-                if (check) {
-                    SecurityManager sec = System.getSecurityManager();
-                    if (sec != null) {
-                        sec.checkConnect(host, -1);
-                    }
+        try {
+            // first lookup the hostname
+            host = resolver().lookupByAddress(addr.getAddress());
+
+            /* check to see if calling code is allowed to know
+             * the hostname for this IP address, ie, connect to the host
+             */
+            if (check) {
+                SecurityManager sec = System.getSecurityManager();
+                if (sec != null) {
+                    sec.checkConnect(host, -1);
                 }
+            }
 
-                /* now get all the IP addresses for this hostname,
-                 * and make sure one of them matches the original IP
-                 * address. We do this to try and prevent spoofing.
-                 */
+            /* now get all the IP addresses for this hostname,
+             * and make sure one of them matches the original IP
+             * address. We do this to try and prevent spoofing.
+             */
 
-                InetAddress[] arr = InetAddress.getAllByName0(host, check);
-                boolean ok = false;
+            InetAddress[] arr = InetAddress.getAllByName0(host, check);
+            boolean ok = false;
 
-                if(arr != null) {
-                    for(int i = 0; !ok && i < arr.length; i++) {
-                        ok = addr.equals(arr[i]);
-                    }
+            if(arr != null) {
+                for(int i = 0; !ok && i < arr.length; i++) {
+                    ok = addr.equals(arr[i]);
                 }
+            }
 
-                //XXX: if it looks a spoof just return the address?
-                if (!ok) {
-                    host = addr.getHostAddress();
-                    return host;
-                }
-
-                break;
-
-            } catch (SecurityException e) {
-                host = addr.getHostAddress();
-                break;
-            } catch (UnknownHostException e) {
+            //XXX: if it looks a spoof just return the address?
+            if (!ok) {
                 host = addr.getHostAddress();
-                // let next provider resolve the hostname
+                return host;
             }
+
+        } catch (SecurityException e) {
+            host = addr.getHostAddress();
+        } catch (UnknownHostException e) {
+            host = addr.getHostAddress();
         }
 
         return host;
@@ -681,6 +688,30 @@ class InetAddress implements java.io.Serializable {
         return null;
      }
 
+    /**
+     * Appends the IP address string in textual presentation, as returned
+     * by {@link #getHostAddress()}, to the given {@code Appendable}.
+     * IPv4 and IPv6 addresses are appended without allocating a new
+     * {@code String} on each call.
+     *
+     * @param   out   the {@code Appendable} the address is appended to.
+     * @exception  IOException  if {@code out} throws one.
+     * @since 1.8
+     */
+    public void appendHostAddress(Appendable out) throws IOException {
+        out.append(getHostAddress());
+    }
+
+    /*
+     * Appends the decimal form of the non-negative value v to out.
+     */
+    static void appendDecimal(int v, Appendable out) throws IOException {
+        if (v >= 10) {
+            appendDecimal(v / 10, out);
+        }
+        out.append((char) ('0' + v % 10));
+    }
+
     /**
      * Returns a hashcode for this IP address.
      *
@@ -727,131 +758,79 @@ class InetAddress implements java.io.Serializable {
     }
 
     /*
-     * Cached addresses - our own litle nis, not!
+     * Cached lookups, keyed by lower-case host name.  A lookup is added
+     * before it is started, so that concurrent lookups of the same host
+     * wait for a single name service call instead of making their own.
      */
-    private static Cache addressCache = new Cache(Cache.Type.Positive);
-
-    private static Cache negativeCache = new Cache(Cache.Type.Negative);
+    private static final ConcurrentHashMap<String, CachedLookup> addressCache =
+        new ConcurrentHashMap<>();
 
-    private static boolean addressCacheInit = false;
+    private static volatile boolean addressCacheInit = false;
 
     static InetAddress[]    unknown_array; // put THIS in cache
 
     static InetAddressImpl  impl;
 
-    private static final HashMap<String, Void> lookupTable = new HashMap<>();
-
-    /**
-     * Represents a cache entry
+    /*
+     * Holds how long, in milliseconds, an expired positive entry may still
+     * be returned while it is refreshed in the background; 0 if never.
+     * Read on first use, like the cache policy, rather than when this
+     * class is initialized.
      */
-    static final class CacheEntry {
-
-        CacheEntry(InetAddress[] addresses, long expiration) {
-            this.addresses = addresses;
-            this.expiration = expiration;
-        }
-
-        InetAddress[] addresses;
-        long expiration;
+    private static final class StaleTTL {
+        static final long MILLIS = staleTTL() * 1000L;
     }
 
+    // Time of the last purge of expired entries, in milliseconds
+    private static final AtomicLong lastPurge = new AtomicLong();
+
     /**
-     * A cache that manages entries based on a policy specified
-     * at creation time.
+     * A lookup of a host's addresses, which may still be in progress.  Its
+     * future completes with the addresses found, or with unknown_array if
+     * the host is unknown.
      */
-    static final class Cache {
-        private LinkedHashMap<String, CacheEntry> cache;
-        private Type type;
+    static final class CachedLookup {
+        final CompletableFuture<InetAddress[]> future = new CompletableFuture<>();
 
-        enum Type {Positive, Negative};
+        // Expiration time in milliseconds, or -1 if never; set before
+        // the future is completed
+        volatile long expiration;
 
-        /**
-         * Create cache
-         */
-        public Cache(Type type) {
-            this.type = type;
-            cache = new LinkedHashMap<String, CacheEntry>();
-        }
+        // Set by the thread that starts a background refresh
+        final AtomicBoolean refreshing = new AtomicBoolean();
 
-        private int getPolicy() {
-            if (type == Type.Positive) {
-                return InetAddressCachePolicy.get();
-            } else {
-                return InetAddressCachePolicy.getNegative();
-            }
+        boolean isExpired(long now) {
+            return expiration >= 0 && expiration < now;
         }
 
         /**
-         * Add an entry to the cache. If there's already an
-         * entry then for this host then the entry will be
-         * replaced.
+         * Returns true if this completed, expired lookup may still be
+         * used while it is refreshed.
          */
-        public Cache put(String host, InetAddress[] addresses) {
-            int policy = getPolicy();
-            if (policy == InetAddressCachePolicy.NEVER) {
-                return this;
-            }
-
-            // purge any expired entries
-
-            if (policy != InetAddressCachePolicy.FOREVER) {
-
-                // As we iterate in insertion order we can
-                // terminate when a non-expired entry is found.
-                LinkedList<String> expired = new LinkedList<>();
-                long now = System.currentTimeMillis();
-                for (String key : cache.keySet()) {
-                    CacheEntry entry = cache.get(key);
-
-                    if (entry.expiration >= 0 && entry.expiration < now) {
-                        expired.add(key);
-                    } else {
-                        break;
-                    }
-                }
-
-                for (String key : expired) {
-                    cache.remove(key);
-                }
-            }
-
-            // create new entry and add it to the cache
-            // -- as a HashMap replaces existing entries we
-            //    don't need to explicitly check if there is
-            //    already an entry for this host.
-            long expiration;
-            if (policy == InetAddressCachePolicy.FOREVER) {
-                expiration = -1;
-            } else {
-                expiration = System.currentTimeMillis() + (policy * 1000);
-            }
-            CacheEntry entry = new CacheEntry(addresses, expiration);
-            cache.put(host, entry);
-            return this;
+        boolean isStale(long now) {
+            return StaleTTL.MILLIS > 0 && expiration >= 0
+                && future.getNow(null) != unknown_array
+                && now - expiration <= StaleTTL.MILLIS;
         }
+    }
 
-        /**
-         * Query the cache for the specific host. If found then
-         * return its CacheEntry, or null if not found.
-         */
-        public CacheEntry get(String host) {
-            int policy = getPolicy();
-            if (policy == InetAddressCachePolicy.NEVER) {
-                return null;
-            }
-            CacheEntry entry = cache.get(host);
-
-            // check if entry has expired
-            if (entry != null && policy != InetAddressCachePolicy.FOREVER) {
-                if (entry.expiration >= 0 &&
-                    entry.expiration < System.currentTimeMillis()) {
-                    cache.remove(host);
-                    entry = null;
+    private static long staleTTL() {
+        String s = AccessController.doPrivileged(
+            new PrivilegedAction<String>() {
+                public String run() {
+                    String v = java.security.Security.getProperty(
+                        "networkaddress.cache.stale.ttl");
+                    return (v != null) ? v
+                        : System.getProperty("sun.net.inetaddr.stale.ttl");
                 }
+            });
+        if (s != null) {
+            try {
+                return Math.max(Long.parseLong(s.trim()), 0L);
+            } catch (NumberFormatException ignore) {
             }
-
-            return entry;
         }
+        return 0L;
     }
 
     /*
@@ -859,60 +838,154 @@ class InetAddress implements java.io.Serializable {
      * unknown array with no expiry.
      */
     private static void cacheInitIfNeeded() {
-        assert Thread.holdsLock(addressCache);
         if (addressCacheInit) {
             return;
         }
-        unknown_array = new InetAddress[1];
-        unknown_array[0] = impl.anyLocalAddress();
+        synchronized (addressCache) {
+            if (addressCacheInit) {
+                return;
+            }
+            unknown_array = new InetAddress[1];
+            unknown_array[0] = impl.anyLocalAddress();
 
-        addressCache.put(impl.anyLocalAddress().getHostName(),
-                         unknown_array);
+            CachedLookup l = new CachedLookup();
+            l.expiration = -1;
+            l.future.complete(unknown_array);
+            addressCache.put(impl.anyLocalAddress().getHostName().toLowerCase(), l);
 
-        addressCacheInit = true;
+            addressCacheInit = true;
+        }
     }
 
     /*
-     * Cache the given hostname and addresses.
+     * Returns the expiration time for a lookup completed at the given
+     * time, -1 if it never expires, or 0 if it should not be cached.
      */
-    private static void cacheAddresses(String hostname,
-                                       InetAddress[] addresses,
-                                       boolean success) {
-        hostname = hostname.toLowerCase();
-        synchronized (addressCache) {
-            cacheInitIfNeeded();
-            if (success) {
-                addressCache.put(hostname, addresses);
-            } else {
-                negativeCache.put(hostname, addresses);
-            }
-        }
+    private static long expiration(boolean success, long now) {
+        int policy = success ? InetAddressCachePolicy.get()
+                             : InetAddressCachePolicy.getNegative();
+        if (policy == InetAddressCachePolicy.FOREVER)
+            return -1L;
+        if (policy == InetAddressCachePolicy.NEVER)
+            return 0L;
+        return now + policy * 1000L;
     }
 
     /*
-     * Lookup hostname in cache (positive & negative cache). If
-     * found return addresses, null if not found.
+     * Removes expired entries that can no longer be served stale, at
+     * most once a second.
      */
-    private static InetAddress[] getCachedAddresses(String hostname) {
-        hostname = hostname.toLowerCase();
+    private static void purgeExpired(long now) {
+        long last = lastPurge.get();
+        if (now - last < 1000L || !lastPurge.compareAndSet(last, now))
+            return;
+        addressCache.values().removeIf(l -> l.future.isDone()
+                                       && l.isExpired(now)
+                                       && !l.isStale(now));
+    }
 
-        // search both positive & negative caches
+    // -- Resolver --
 
-        synchronized (addressCache) {
-            cacheInitIfNeeded();
+    private static volatile InetAddressResolver resolver;
+    private static boolean loadingResolver;   // guarded by resolverLock
+    private static final Object resolverLock = new Object();
 
-            CacheEntry entry = addressCache.get(hostname);
-            if (entry == null) {
-                entry = negativeCache.get(hostname);
+    /**
+     * The built-in resolver, which consults the configured name services
+     * in order.
+     */
+    private static final InetAddressResolver builtinResolver =
+        new InetAddressResolver() {
+            public InetAddress[] lookupByName(String host)
+                throws UnknownHostException
+            {
+                UnknownHostException ex = null;
+                for (NameService nameService : nameServices) {
+                    try {
+                        return nameService.lookupAllHostAddr(host);
+                    } catch (UnknownHostException uhe) {
+                        ex = uhe;
+                    }
+                }
+                throw (ex != null) ? ex : new UnknownHostException(host);
             }
 
-            if (entry != null) {
-                return entry.addresses;
+            public String lookupByAddress(byte[] addr)
+                throws UnknownHostException
+            {
+                UnknownHostException ex = null;
+                for (NameService nameService : nameServices) {
+                    try {
+                        return nameService.getHostByAddr(addr);
+                    } catch (UnknownHostException uhe) {
+                        ex = uhe;
+                    }
+                }
+                throw (ex != null) ? ex : new UnknownHostException();
             }
+        };
+
+    /**
+     * Returns the resolver, locating an installed provider on first use.
+     * Lookups made while the provider is being located use the built-in
+     * resolver.
+     */
+    private static InetAddressResolver resolver() {
+        InetAddressResolver r = resolver;
+        if (r != null)
+            return r;
+        synchronized (resolverLock) {
+            if ((r = resolver) != null)
+                return r;
+            if (loadingResolver)
+                return builtinResolver;
+            loadingResolver = true;
+            try {
+                r = AccessController.doPrivileged(
+                    new PrivilegedAction<InetAddressResolver>() {
+                        public InetAddressResolver run() {
+                            Iterator<InetAddressResolverProvider> it =
+                                ServiceLoader.load(InetAddressResolverProvider.class,
+                                                   ClassLoader.getSystemClassLoader())
+                                    .iterator();
+                            return it.hasNext() ? it.next().get(builtinResolver)
+                                                : builtinResolver;
+                        }
+                    });
+                resolver = r = Objects.requireNonNull(r);
+            } finally {
+                loadingResolver = false;
+            }
+            return r;
         }
+    }
 
-        // not found
-        return null;
+    /**
+     * Holder for the executor that runs asynchronous lookups and
+     * background refreshes.  At most {@code MAX_THREADS} lookups run at
+     * once and at most {@code MAX_QUEUED} more wait for a thread; further
+     * tasks are rejected.  Lookup threads have no context class loader,
+     * so that they do not keep the loader of the first caller alive.
+     */
+    private static final class LookupExecutor {
+        static final int MAX_THREADS = 16;
+        static final int MAX_QUEUED = 1024;
+        static final ThreadPoolExecutor EXECUTOR;
+        static {
+            EXECUTOR = new ThreadPoolExecutor(
+                MAX_THREADS, MAX_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(MAX_QUEUED),
+                r -> AccessController.doPrivileged(
+                    new PrivilegedAction<Thread>() {
+                        public Thread run() {
+                            Thread t = new Thread(r, "InetAddress-lookup");
+                            t.setDaemon(true);
+                            t.setContextClassLoader(null);
+                            return t;
+                        }
+                    }));
+            EXECUTOR.allowCoreThreadTimeOut(true);
+        }
     }
 
     private static NameService createNSProvider(String provider) {
@@ -1269,12 +1342,7 @@ class InetAddress implements java.io.Serializable {
             }
         }
 
-        InetAddress[] addresses = getCachedAddresses(host);
-
-        /* If no entry in cache, then do the host lookup */
-        if (addresses == null) {
-            addresses = getAddressesFromNameService(host, reqAddr);
-        }
+        InetAddress[] addresses = getAddresses(host, reqAddr);
 
         if (addresses == unknown_array)
             throw new UnknownHostException(host);
@@ -1282,139 +1350,232 @@ class InetAddress implements java.io.Serializable {
         return addresses.clone();
     }
 
+    /*
+     * Returns the cached addresses of the given host, or unknown_array,
+     * looking them up if they are not cached.  Only the thread that
+     * performs a lookup sees the exception thrown by the name service;
+     * other threads waiting for the same lookup receive unknown_array.
+     */
+    private static InetAddress[] getAddresses(String host, InetAddress reqAddr)
+        throws UnknownHostException
+    {
+        cacheInitIfNeeded();
+        String key = host.toLowerCase();
+        for (;;) {
+            CachedLookup l = addressCache.get(key);
+            if (l != null) {
+                if (!l.future.isDone())
+                    return await(l);
+                long now = System.currentTimeMillis();
+                if (!l.isExpired(now))
+                    return l.future.getNow(null);
+                if (l.isStale(now)) {
+                    refresh(key, host, l);
+                    return l.future.getNow(null);
+                }
+                addressCache.remove(key, l);
+            } else {
+                CachedLookup nl = new CachedLookup();
+                if (addressCache.putIfAbsent(key, nl) == null)
+                    return lookup(key, host, reqAddr, nl);
+            }
+        }
+    }
+
+    /*
+     * Looks up the addresses of the given host, bypassing but updating
+     * the cache.
+     */
     private static InetAddress[] getAddressesFromNameService(String host, InetAddress reqAddr)
         throws UnknownHostException
     {
-        InetAddress[] addresses = null;
-        boolean success = false;
-        UnknownHostException ex = null;
+        cacheInitIfNeeded();
+        String key = host.toLowerCase();
+        CachedLookup l = new CachedLookup();
+        addressCache.put(key, l);
+        return lookup(key, host, reqAddr, l);
+    }
 
-        // Check whether the host is in the lookupTable.
-        // 1) If the host isn't in the lookupTable when
-        //    checkLookupTable() is called, checkLookupTable()
-        //    would add the host in the lookupTable and
-        //    return null. So we will do the lookup.
-        // 2) If the host is in the lookupTable when
-        //    checkLookupTable() is called, the current thread
-        //    would be blocked until the host is removed
-        //    from the lookupTable. Then this thread
-        //    should try to look up the addressCache.
-        //     i) if it found the addresses in the
-        //        addressCache, checkLookupTable()  would
-        //        return the addresses.
-        //     ii) if it didn't find the addresses in the
-        //         addressCache for any reason,
-        //         it should add the host in the
-        //         lookupTable and return null so the
-        //         following code would do  a lookup itself.
-        if ((addresses = checkLookupTable(host)) == null) {
+    /*
+     * Waits for a lookup started by another thread.
+     */
+    private static InetAddress[] await(CachedLookup l)
+        throws UnknownHostException
+    {
+        try {
+            return l.future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException)cause;
+            if (cause instanceof Error)
+                throw (Error)cause;
+            throw new UnknownHostException(cause.toString());
+        }
+    }
+
+    /*
+     * Performs a lookup and completes the given cache entry with its
+     * result.
+     */
+    private static InetAddress[] lookup(String key, String host,
+                                        InetAddress reqAddr, CachedLookup l)
+        throws UnknownHostException
+    {
+        InetAddress[] addresses;
+        UnknownHostException ex = null;
+        boolean completed = false;
+        try {
             try {
-                // This is the first thread which looks up the addresses
-                // this host or the cache entry for this host has been
-                // expired so this thread should do the lookup.
-                for (NameService nameService : nameServices) {
-                    try {
-                        /*
-                         * Do not put the call to lookup() inside the
-                         * constructor.  if you do you will still be
-                         * allocating space when the lookup fails.
-                         */
-
-                        addresses = nameService.lookupAllHostAddr(host);
-                        success = true;
-                        break;
-                    } catch (UnknownHostException uhe) {
-                        if (host.equalsIgnoreCase("localhost")) {
-                            InetAddress[] local = new InetAddress[] { impl.loopbackAddress() };
-                            addresses = local;
-                            success = true;
-                            break;
-                        }
-                        else {
-                            addresses = unknown_array;
-                            success = false;
-                            ex = uhe;
-                        }
-                    }
+                addresses = resolver().lookupByName(host);
+                if (addresses == null || addresses.length == 0)
+                    throw new UnknownHostException(host);
+            } catch (UnknownHostException uhe) {
+                if (host.equalsIgnoreCase("localhost")) {
+                    addresses = new InetAddress[] { impl.loopbackAddress() };
+                } else {
+                    addresses = unknown_array;
+                    ex = uhe;
                 }
+            }
 
-                // More to do?
-                if (reqAddr != null && addresses.length > 1 && !addresses[0].equals(reqAddr)) {
-                    // Find it?
-                    int i = 1;
-                    for (; i < addresses.length; i++) {
-                        if (addresses[i].equals(reqAddr)) {
-                            break;
-                        }
+            // More to do?
+            if (reqAddr != null && addresses.length > 1 && !addresses[0].equals(reqAddr)) {
+                // Find it?
+                int i = 1;
+                for (; i < addresses.length; i++) {
+                    if (addresses[i].equals(reqAddr)) {
+                        break;
                     }
-                    // Rotate
-                    if (i < addresses.length) {
-                        InetAddress tmp, tmp2 = reqAddr;
-                        for (int j = 0; j < i; j++) {
-                            tmp = addresses[j];
-                            addresses[j] = tmp2;
-                            tmp2 = tmp;
-                        }
-                        addresses[i] = tmp2;
+                }
+                // Rotate
+                if (i < addresses.length) {
+                    InetAddress tmp, tmp2 = reqAddr;
+                    for (int j = 0; j < i; j++) {
+                        tmp = addresses[j];
+                        addresses[j] = tmp2;
+                        tmp2 = tmp;
                     }
+                    addresses[i] = tmp2;
                 }
-                // Cache the address.
-                cacheAddresses(host, addresses, success);
-
-                if (!success && ex != null)
-                    throw ex;
+            }
 
-            } finally {
-                // Delete host from the lookupTable and notify
-                // all threads waiting on the lookupTable monitor.
-                updateLookupTable(host);
+            // Cache the addresses, or drop the entry if caching is disabled
+            long now = System.currentTimeMillis();
+            long expiration = expiration(ex == null, now);
+            l.expiration = expiration;
+            l.future.complete(addresses);
+            completed = true;
+            if (expiration == 0L)
+                addressCache.remove(key, l);
+            purgeExpired(now);
+        } catch (RuntimeException | Error x) {
+            l.future.completeExceptionally(x);
+            throw x;
+        } finally {
+            // Never leave an entry that later lookups would wait on forever
+            if (!completed) {
+                addressCache.remove(key, l);
+                l.future.completeExceptionally(new UnknownHostException(host));
             }
         }
 
+        if (ex != null)
+            throw ex;
         return addresses;
     }
 
-
-    private static InetAddress[] checkLookupTable(String host) {
-        synchronized (lookupTable) {
-            // If the host isn't in the lookupTable, add it in the
-            // lookuptable and return null. The caller should do
-            // the lookup.
-            if (lookupTable.containsKey(host) == false) {
-                lookupTable.put(host, null);
-                return null;
-            }
-
-            // If the host is in the lookupTable, it means that another
-            // thread is trying to look up the addresses of this host.
-            // This thread should wait.
-            while (lookupTable.containsKey(host)) {
+    /*
+     * Starts a background refresh of a stale entry, unless one has
+     * already been started.  The stale entry is replaced only if the
+     * refresh succeeds; otherwise it is served until it can no longer be.
+     */
+    private static void refresh(String key, String host, CachedLookup stale) {
+        if (!stale.refreshing.compareAndSet(false, true))
+            return;
+        try {
+            LookupExecutor.EXECUTOR.execute(() -> {
                 try {
-                    lookupTable.wait();
-                } catch (InterruptedException e) {
+                    InetAddress[] addresses = resolver().lookupByName(host);
+                    if (addresses == null || addresses.length == 0)
+                        return;
+                    long expiration = expiration(true, System.currentTimeMillis());
+                    if (expiration == 0L) {
+                        addressCache.remove(key, stale);
+                        return;
+                    }
+                    CachedLookup l = new CachedLookup();
+                    l.expiration = expiration;
+                    l.future.complete(addresses);
+                    addressCache.replace(key, stale, l);
+                } catch (UnknownHostException | RuntimeException ignore) {
                 }
-            }
+            });
+        } catch (RejectedExecutionException e) {
+            stale.refreshing.set(false);    // try again on a later lookup
         }
+    }
 
-        // The other thread has finished looking up the addresses of
-        // the host. This thread should retry to get the addresses
-        // from the addressCache. If it doesn't get the addresses from
-        // the cache, it will try to look up the addresses itself.
-        InetAddress[] addresses = getCachedAddresses(host);
-        if (addresses == null) {
-            synchronized (lookupTable) {
-                lookupTable.put(host, null);
-                return null;
+    /**
+     * Asynchronously looks up all of the IP addresses of a host, as by
+     * {@link #getAllByName(String)}.
+     *
+     * <p> If the host's addresses are cached, the returned future is
+     * already complete.  If a
+     * lookup of the same host is already in progress, the returned future
+     * completes when it does.  Otherwise the lookup is performed by a
+     * background thread.  In all cases the security check, if any, is made
+     * against the caller's access control context.
+     *
+     * @param  host
+     *         the name of the host, or {@code null}.
+     *
+     * @return  a future that completes with an array of all the IP addresses
+     *          for the given host name, or exceptionally with an
+     *          {@link UnknownHostException} or {@link SecurityException}
+     *          if {@link #getAllByName(String)} would throw one
+     *
+     * @since 1.8
+     */
+    public static CompletableFuture<InetAddress[]> getAllByNameAsync(String host) {
+        if (host != null && host.length() > 0) {
+            CachedLookup l = addressCache.get(host.toLowerCase());
+            if (l != null && (!l.future.isDone()
+                              || !l.isExpired(System.currentTimeMillis()))) {
+                try {
+                    SecurityManager security = System.getSecurityManager();
+                    if (security != null)
+                        security.checkConnect(host, -1);
+                } catch (SecurityException e) {
+                    CompletableFuture<InetAddress[]> f = new CompletableFuture<>();
+                    f.completeExceptionally(e);
+                    return f;
+                }
+                return l.future.thenApply(a -> {
+                    if (a == unknown_array)
+                        throw new CompletionException(new UnknownHostException(host));
+                    return a.clone();
+                });
             }
         }
-
-        return addresses;
-    }
-
-    private static void updateLookupTable(String host) {
-        synchronized (lookupTable) {
-            lookupTable.remove(host);
-            lookupTable.notifyAll();
+        final AccessControlContext acc = AccessController.getContext();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return AccessController.doPrivileged(
+                        new PrivilegedExceptionAction<InetAddress[]>() {
+                            public InetAddress[] run() throws UnknownHostException {
+                                return getAllByName(host);
+                            }
+                        }, acc);
+                } catch (PrivilegedActionException e) {
+                    throw new CompletionException(e.getException());
+                }
+            }, LookupExecutor.EXECUTOR);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<InetAddress[]> f = new CompletableFuture<>();
+            f.completeExceptionally(e);
+            return f;
         }
     }
 
@@ -99,13 +99,52 @@ public class InetSocketAddress
             return addr == null;
         }
 
+        // The string form, made on first use
+        private String string;
+
         @Override
         public String toString() {
+            String s = string;
+            if (s == null || !isCurrent(s)) {
+                if (isUnresolved()) {
+                    s = hostname + ":" + port;
+                } else {
+                    s = addr.toString() + ":" + port;
+                }
+                string = s;
+            }
+            return s;
+        }
+
+        // Tells whether s, a string form made earlier, is still current: a
+        // reverse lookup may since have given addr a host name
+        private boolean isCurrent(String s) {
+            if (addr == null)
+                return true;
+            String hn = addr.holder().getHostName();
+            if (hn == null)
+                return s.charAt(0) == '/';
+            return s.length() > hn.length() && s.charAt(hn.length()) == '/'
+                && s.startsWith(hn);
+        }
+
+        private void appendTo(Appendable out) throws IOException {
+            String s = string;
+            if (s != null && isCurrent(s)) {
+                out.append(s);
+                return;
+            }
             if (isUnresolved()) {
-                return hostname + ":" + port;
+                out.append(hostname);
             } else {
-                return addr.toString() + ":" + port;
+                String hn = addr.holder().getHostName();
+                if (hn != null)
+                    out.append(hn);
+                out.append('/');
+                addr.appendHostAddress(out);
             }
+            out.append(':');
+            InetAddress.appendDecimal(port, out);
         }
 
         @Override
@@ -380,6 +419,21 @@ public class InetSocketAddress
         return holder.toString();
     }
 
+    /**
+     * Appends the string representation of this InetSocketAddress, as
+     * returned by {@link #toString()}, to the given {@code Appendable}.
+     * Once {@code toString()} has been called the cached string is
+     * appended; otherwise the representation is appended piece by piece,
+     * without allocating.
+     *
+     * @param  out the {@code Appendable} the representation is appended to
+     * @throws IOException if {@code out} throws one
+     * @since 1.8
+     */
+    public void appendTo(Appendable out) throws IOException {
+        holder.appendTo(out);
+    }
+
     /**
      * Compares this object against the specified object.
      * The result is {@code true} if and only if the argument is
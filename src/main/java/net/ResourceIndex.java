@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+
+package java.net;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.AccessControlContext;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import sun.misc.Resource;
+import sun.misc.URLClassPath;
+import sun.net.util.URLUtil;
+import sun.net.www.ParseUtil;
+
+/**
+ * An index over the search path of a {@link URLClassLoader} that lets
+ * lookups skip JAR files which cannot contain the requested resource.
+ *
+ * <p>Each local JAR file on the search path is scanned once and the
+ * names of its entries are summarized in a small bloom filter.  A
+ * lookup then only consults the JAR files whose filter reports a
+ * possible match, each through a {@code URLClassPath} of its own, in
+ * search path order.  URLs that cannot be indexed (directories and
+ * remote JAR files) are always consulted.  Misses, which otherwise open
+ * and probe every JAR file on the search path, are usually answered
+ * without touching any JAR file at all.
+ *
+ * <p>JAR files that extend the search path, through a {@code Class-Path}
+ * manifest attribute or a {@code META-INF/INDEX.LIST}, cannot be
+ * indexed without changing the search order; if any is found no index
+ * is built and the class loader keeps using its own
+ * {@code URLClassPath}.
+ */
+final class ResourceIndex {
+
+    private static final String INDEX_LIST = "META-INF/INDEX.LIST";
+
+    private final URLStreamHandlerFactory factory;
+    private final AccessControlContext acc;
+    private final Entry[] entries;
+
+    private ResourceIndex(URLStreamHandlerFactory factory,
+                          AccessControlContext acc, Entry[] entries) {
+        this.factory = factory;
+        this.acc = acc;
+        this.entries = entries;
+    }
+
+    /**
+     * Builds an index over the given URLs, or returns {@code null} if
+     * the URLs cannot be indexed.  Must be called with sufficient
+     * privileges to read the JAR files.
+     */
+    static ResourceIndex build(URL[] urls, URLStreamHandlerFactory factory,
+                               AccessControlContext acc) {
+        return new ResourceIndex(factory, acc, new Entry[0]).append(urls);
+    }
+
+    /**
+     * Returns an index that also covers the given URLs, appended to the
+     * search path in order, or {@code null} if they cannot be indexed.
+     * URLs already on the search path are ignored.  The returned index
+     * shares the search paths opened through this one.
+     */
+    ResourceIndex append(URL... urls) {
+        List<Entry> list = new ArrayList<>(entries.length + urls.length);
+        Set<String> seen = new HashSet<>();
+        for (Entry e : entries) {
+            list.add(e);
+            seen.add(URLUtil.urlNoFragString(e.url));
+        }
+        for (URL url : urls) {
+            if (url == null)
+                continue;
+            if (!seen.add(URLUtil.urlNoFragString(url)))
+                continue;
+            Entry e;
+            try {
+                e = index(url);
+            } catch (IOException x) {
+                return null;
+            }
+            list.add(e);
+        }
+        return new ResourceIndex(factory, acc,
+                                 list.toArray(new Entry[list.size()]));
+    }
+
+    /**
+     * Returns the entry for the given URL.  Unreadable JAR files become
+     * entries that match nothing, as {@code URLClassPath} skips them too.
+     *
+     * @throws IOException if the JAR file extends the search path
+     */
+    private static Entry index(URL url) throws IOException {
+        String file = url.getFile();
+        if (!"file".equals(url.getProtocol()) || file.endsWith("/")
+                || (url.getHost() != null && !url.getHost().isEmpty()
+                    && !url.getHost().equals("localhost"))) {
+            return new Entry(url, null);
+        }
+        File f = new File(ParseUtil.decode(file).replace('/', File.separatorChar));
+        if (!f.isFile())
+            return new Entry(url, new Bloom(0));
+        JarFile jar;
+        try {
+            jar = new JarFile(f, false);
+        } catch (IOException | SecurityException x) {
+            return new Entry(url, new Bloom(0));
+        }
+        try {
+            Manifest man = jar.getManifest();
+            if (man != null && man.getMainAttributes()
+                    .getValue(Attributes.Name.CLASS_PATH) != null) {
+                throw new IOException("Class-Path: " + url);
+            }
+            if (jar.getEntry(INDEX_LIST) != null)
+                throw new IOException(INDEX_LIST + ": " + url);
+            Bloom bloom = new Bloom(jar.size());
+            for (Enumeration<JarEntry> en = jar.entries(); en.hasMoreElements(); ) {
+                String name = en.nextElement().getName();
+                bloom.add(name);
+                // ZipFile.getEntry also finds "dir/" when asked for "dir"
+                if (name.endsWith("/"))
+                    bloom.add(name.substring(0, name.length() - 1));
+            }
+            return new Entry(url, bloom);
+        } finally {
+            try {
+                jar.close();
+            } catch (IOException ignore) { }
+        }
+    }
+
+    /**
+     * Returns the search path of the given entry, creating it on first
+     * use, or {@code null} if this index has been closed.
+     */
+    private URLClassPath path(Entry e) {
+        URLClassPath p = e.path;
+        if (p == null) {
+            synchronized (e) {
+                if (e.closed)
+                    return null;
+                if ((p = e.path) == null) {
+                    URL[] one = { e.url };
+                    e.path = p = (factory == null)
+                        ? new URLClassPath(one, acc)
+                        : new URLClassPath(one, factory, acc);
+                }
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Equivalent of {@code URLClassPath.getResource(name, check)}.
+     */
+    Resource getResource(String name, boolean check) {
+        for (Entry e : entries) {
+            if (e.mightContain(name)) {
+                URLClassPath p = path(e);
+                if (p == null)
+                    return null;
+                Resource res = p.getResource(name, check);
+                if (res != null)
+                    return res;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Equivalent of {@code URLClassPath.findResource(name, check)}.
+     */
+    URL findResource(String name, boolean check) {
+        for (Entry e : entries) {
+            if (e.mightContain(name)) {
+                URLClassPath p = path(e);
+                if (p == null)
+                    return null;
+                URL url = p.findResource(name, check);
+                if (url != null)
+                    return url;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Equivalent of {@code URLClassPath.findResources(name, check)}.
+     */
+    Enumeration<URL> findResources(final String name, final boolean check) {
+        return new Enumeration<URL>() {
+            private int index;
+            private Enumeration<URL> current;
+
+            private boolean next() {
+                while (current == null || !current.hasMoreElements()) {
+                    URLClassPath p = null;
+                    while (index < entries.length) {
+                        Entry e = entries[index++];
+                        if (e.mightContain(name)) {
+                            p = path(e);
+                            break;
+                        }
+                    }
+                    if (p == null)
+                        return false;
+                    current = p.findResources(name, check);
+                }
+                return true;
+            }
+
+            public boolean hasMoreElements() {
+                return next();
+            }
+
+            public URL nextElement() {
+                if (!next())
+                    throw new NoSuchElementException();
+                return current.nextElement();
+            }
+        };
+    }
+
+    /**
+     * Closes the search paths opened through this index and any index it
+     * was appended to.  Lookups made after this method returns find
+     * nothing.
+     */
+    List<IOException> close() {
+        List<IOException> errors = new ArrayList<>();
+        for (Entry e : entries) {
+            URLClassPath p;
+            synchronized (e) {
+                e.closed = true;
+                p = e.path;
+            }
+            if (p != null)
+                errors.addAll(p.closeLoaders());
+        }
+        return errors;
+    }
+
+    /**
+     * A URL on the search path with the summary of its contents, or
+     * none if the URL is not indexed.
+     */
+    private static final class Entry {
+        final URL url;
+        final Bloom bloom;
+        volatile URLClassPath path;
+        boolean closed;     // guarded by this
+
+        Entry(URL url, Bloom bloom) {
+            this.url = url;
+            this.bloom = bloom;
+        }
+
+        boolean mightContain(String name) {
+            return bloom == null || bloom.mightContain(name);
+        }
+    }
+
+    /**
+     * A bloom filter over entry names using three probes and about ten
+     * to twenty bits per name, for a false positive rate of one or two
+     * percent.
+     */
+    static final class Bloom {
+        private final long[] bits;
+        private final int mask;
+
+        Bloom(int expected) {
+            int m = Math.min(Math.max(expected, 1) * 10, 1 << 30);
+            m = Math.max(Integer.highestOneBit(m - 1) << 1, 64);
+            bits = new long[m >>> 6];
+            mask = m - 1;
+        }
+
+        private static int step(int h) {
+            h = (h >>> 16 | h << 16) * 0x9E3779B9;
+            return h | 1;
+        }
+
+        void add(String name) {
+            int h = name.hashCode(), s = step(h);
+            for (int i = 0; i < 3; i++, h += s) {
+                int b = h & mask;
+                bits[b >>> 6] |= 1L << b;
+            }
+        }
+
+        boolean mightContain(String name) {
+            int h = name.hashCode(), s = step(h);
+            for (int i = 0; i < 3; i++, h += s) {
+                int b = h & mask;
+                if ((bits[b >>> 6] & (1L << b)) == 0)
+                    return false;
+            }
+            return true;
+        }
+    }
+}
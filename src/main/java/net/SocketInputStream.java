@@ -28,7 +28,9 @@ package java.net;
 import java.io.FileDescriptor;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 
 import sun.net.ConnectionResetException;
 
@@ -36,11 +38,15 @@ import sun.net.ConnectionResetException;
  * This stream extends FileInputStream to implement a
  * SocketInputStream. Note that this class should <b>NOT</b> be
  * public.
+ * <p>
+ * The stream is also a {@link ReadableByteChannel}, so that callers can
+ * read into buffers without copying from arrays afterwards.
  *
  * @author      Jonathan Payne
  * @author      Arthur van Hoff
  */
 class SocketInputStream extends FileInputStream
+    implements ReadableByteChannel
 {
     static {
         init();
@@ -51,6 +57,12 @@ class SocketInputStream extends FileInputStream
     private byte temp[];
     private Socket socket = null;
 
+    // The largest array used to stage bytes read into a buffer
+    private static final int MAX_SCRATCH_SIZE = 64 * 1024;
+
+    // Array for staging bytes read, when not in use; guarded by this
+    private byte[] scratch;
+
     /**
      * Creates a new SocketInputStream. Can only be called
      * by a Socket. This method needs to hang on to the owner Socket so
@@ -213,6 +225,64 @@ class SocketInputStream extends FileInputStream
         return -1;
     }
 
+    /**
+     * Reads bytes from the socket into a buffer.  A buffer backed by an
+     * array is read into directly; other buffers are filled from a
+     * staging array.
+     * @param dst the buffer into which bytes are read
+     * @return the number of bytes read, possibly zero if the buffer has
+     *          no space remaining, or -1 if the end of the stream has
+     *          been reached
+     * @exception IOException If an I/O error has occurred.
+     */
+    public int read(ByteBuffer dst) throws IOException {
+        int len = dst.remaining();
+        if (len == 0) {
+            return 0;
+        }
+        if (dst.hasArray()) {
+            int pos = dst.position();
+            int n = read(dst.array(), dst.arrayOffset() + pos, len);
+            if (n > 0) {
+                dst.position(pos + n);
+            }
+            return n;
+        }
+        if (dst.isReadOnly()) {
+            throw new java.nio.ReadOnlyBufferException();
+        }
+        len = Math.min(len, MAX_SCRATCH_SIZE);
+        byte[] b;
+        synchronized (this) {
+            b = scratch;
+            scratch = null;
+        }
+        if (b == null || b.length < len) {
+            b = new byte[len];
+        }
+        try {
+            int n = read(b, 0, len);
+            if (n > 0) {
+                dst.put(b, 0, n);
+            }
+            return n;
+        } finally {
+            synchronized (this) {
+                if (scratch == null || scratch.length < b.length) {
+                    scratch = b;
+                }
+            }
+        }
+    }
+
+    /**
+     * Tells whether the socket is still open.
+     * @return {@code true} if the socket has not been closed
+     */
+    public boolean isOpen() {
+        return !impl.isClosedOrPending();
+    }
+
     /**
      * Reads a single byte from the socket.
      */
@@ -28,17 +28,24 @@ package java.net;
 import java.io.FileDescriptor;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
 
 /**
  * This stream extends FileOutputStream to implement a
  * SocketOutputStream. Note that this class should <b>NOT</b> be
  * public.
+ * <p>
+ * The stream is also a {@link GatheringByteChannel}, so that callers can
+ * write buffers without copying them to arrays first, and send several
+ * small buffers with a single native write.
  *
  * @author      Jonathan Payne
  * @author      Arthur van Hoff
  */
 class SocketOutputStream extends FileOutputStream
+    implements GatheringByteChannel
 {
     static {
         init();
@@ -48,6 +55,12 @@ class SocketOutputStream extends FileOutputStream
     private byte temp[] = new byte[1];
     private Socket socket = null;
 
+    // The largest array used to stage buffer contents for a native write
+    private static final int MAX_SCRATCH_SIZE = 64 * 1024;
+
+    // Array for staging buffer contents, when not in use; guarded by this
+    private byte[] scratch;
+
     /**
      * Creates a new SocketOutputStream. Can only be called
      * by a Socket. This method needs to hang on to the owner Socket so
@@ -155,6 +168,136 @@ class SocketOutputStream extends FileOutputStream
         socketWrite(b, off, len);
     }
 
+    /**
+     * Writes the remaining bytes of a buffer to the socket.  The bytes of
+     * a buffer backed by an array are written from that array; those of
+     * other buffers are staged in an array first.
+     * @param src the buffer from which bytes are written
+     * @return the number of bytes written, which is all of them
+     * @exception IOException If an I/O error has occurred.
+     */
+    public int write(ByteBuffer src) throws IOException {
+        int len = src.remaining();
+        if (src.hasArray()) {
+            socketWrite(src.array(), src.arrayOffset() + src.position(), len);
+            src.position(src.limit());
+            return len;
+        }
+        if (len > 0) {
+            byte[] b = takeScratch(len);
+            try {
+                while (src.hasRemaining()) {
+                    int n = Math.min(src.remaining(), b.length);
+                    src.get(b, 0, n);
+                    socketWrite(b, 0, n);
+                }
+            } finally {
+                returnScratch(b);
+            }
+        }
+        return len;
+    }
+
+    /**
+     * Writes the remaining bytes of a sequence of buffers to the socket.
+     * Runs of buffers that fit in a staging array together are copied into
+     * it and sent with a single native write; larger buffers backed by an
+     * array are written from that array, and other large buffers are sent
+     * through the staging array a piece at a time.
+     * @param srcs the buffers from which bytes are written
+     * @param offset the offset within the array of the first buffer
+     * @param length the number of buffers to write
+     * @return the number of bytes written, which is all of them
+     * @exception IOException If an I/O error has occurred.
+     */
+    public long write(ByteBuffer[] srcs, int offset, int length)
+        throws IOException
+    {
+        if ((offset < 0) || (length < 0) || (offset > srcs.length - length))
+            throw new IndexOutOfBoundsException();
+        long total = 0;
+        for (int i = offset; i < offset + length; i++)
+            total += srcs[i].remaining();
+        if (total == 0)
+            return 0;
+
+        byte[] b = takeScratch(total);
+        try {
+            int pos = 0;
+            for (int i = offset; i < offset + length; i++) {
+                ByteBuffer src = srcs[i];
+                int rem = src.remaining();
+                if (rem <= b.length - pos) {
+                    src.get(b, pos, rem);
+                    pos += rem;
+                    continue;
+                }
+                if (pos > 0) {
+                    socketWrite(b, 0, pos);
+                    pos = 0;
+                }
+                if (src.hasArray()) {
+                    write(src);
+                } else if (rem > b.length) {
+                    // stage a large buffer through the array already held
+                    while (src.hasRemaining()) {
+                        int n = Math.min(src.remaining(), b.length);
+                        src.get(b, 0, n);
+                        socketWrite(b, 0, n);
+                    }
+                } else {
+                    src.get(b, 0, rem);
+                    pos = rem;
+                }
+            }
+            if (pos > 0)
+                socketWrite(b, 0, pos);
+        } finally {
+            returnScratch(b);
+        }
+        return total;
+    }
+
+    /**
+     * Writes the remaining bytes of a sequence of buffers to the socket.
+     * @param srcs the buffers from which bytes are written
+     * @return the number of bytes written, which is all of them
+     * @exception IOException If an I/O error has occurred.
+     * @see #write(ByteBuffer[], int, int)
+     */
+    public long write(ByteBuffer[] srcs) throws IOException {
+        return write(srcs, 0, srcs.length);
+    }
+
+    /**
+     * Tells whether the socket is still open.
+     * @return {@code true} if the socket has not been closed
+     */
+    public boolean isOpen() {
+        return !impl.isClosedOrPending();
+    }
+
+    /**
+     * Returns an array for staging {@code size} bytes, or as many as fit
+     * in {@code MAX_SCRATCH_SIZE}.
+     */
+    private byte[] takeScratch(long size) {
+        int len = (int) Math.min(size, MAX_SCRATCH_SIZE);
+        byte[] b;
+        synchronized (this) {
+            b = scratch;
+            scratch = null;
+        }
+        return (b != null && b.length >= len) ? b : new byte[len];
+    }
+
+    private void returnScratch(byte[] b) {
+        synchronized (this) {
+            if (scratch == null || scratch.length < b.length)
+                scratch = b;
+        }
+    }
+
     /**
      * Closes the stream.
      */
@@ -0,0 +1,439 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+
+package java.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A view of the components of a URI reference held in a character
+ * sequence or a byte buffer.
+ *
+ * <p> Parsing a URI reference only records where each of its components
+ * starts and ends; nothing is copied or decoded until a component is
+ * asked for.  A view can be {@link #reset(CharSequence) reset} to parse
+ * another reference, so a single instance can serve every request of a
+ * connection without allocating.
+ *
+ * <p> The reference is split as described in Appendix B of
+ * <a href="http://www.ietf.org/rfc/rfc3986.txt">RFC&nbsp;3986</a>, and
+ * the authority further into user information, host and port.  Unlike
+ * {@link URI}, a view does not check that the components are made of
+ * legal characters: use {@link #toURI()} for that.  As with {@code URI}, a
+ * reference with a scheme whose scheme-specific part does not begin with a
+ * slash is opaque, and has no authority, path or query components.
+ *
+ * <p> Instances of this class are not safe for use by multiple concurrent
+ * threads, and a view must not be used while its input is being modified.
+ *
+ * @see URI
+ * @since 1.8
+ */
+public final class URIView {
+
+    /**
+     * The components of a URI reference.
+     *
+     * @since 1.8
+     */
+    public enum Component {
+        /** The scheme, without the trailing colon. */
+        SCHEME,
+        /** The scheme-specific part, everything between the colon after
+         *  the scheme and the fragment. */
+        SCHEME_SPECIFIC_PART,
+        /** The authority, without the leading slashes. */
+        AUTHORITY,
+        /** The user information, without the trailing at sign. */
+        USER_INFO,
+        /** The host, including the brackets around an IPv6 literal. */
+        HOST,
+        /** The port, without the leading colon. */
+        PORT,
+        /** The path, which is empty rather than undefined if the reference
+         *  is not opaque. */
+        PATH,
+        /** The query, without the question mark. */
+        QUERY,
+        /** The fragment, without the number sign. */
+        FRAGMENT
+    }
+
+    private static final Component[] COMPONENTS = Component.values();
+
+    // The start and end offsets of each component, -1 if undefined
+    private final int[] bounds = new int[COMPONENTS.length * 2];
+
+    private CharSequence input;
+
+    /**
+     * Creates a view of the empty URI reference.
+     */
+    public URIView() {
+        reset("");
+    }
+
+    /**
+     * Creates a view of the given URI reference.
+     *
+     * @param  s the URI reference
+     * @return a new view of {@code s}
+     * @throws NullPointerException if {@code s} is {@code null}
+     */
+    public static URIView of(CharSequence s) {
+        return new URIView().reset(s);
+    }
+
+    /**
+     * Makes this view a view of the given URI reference.
+     *
+     * @param  s the URI reference
+     * @return this view
+     * @throws NullPointerException if {@code s} is {@code null}
+     */
+    public URIView reset(CharSequence s) {
+        input = s;
+        parse();
+        return this;
+    }
+
+    /**
+     * Makes this view a view of the URI reference held in the remaining
+     * bytes of the given buffer, each byte standing for the character of
+     * the same value in ISO-8859-1.  Offsets are relative to the position
+     * of the buffer, which must not be changed while the view is in use.
+     *
+     * @param  bb the buffer holding the URI reference
+     * @return this view
+     * @throws NullPointerException if {@code bb} is {@code null}
+     */
+    public URIView reset(ByteBuffer bb) {
+        if (input instanceof ByteChars) {
+            ((ByteChars) input).reset(bb);
+        } else {
+            input = new ByteChars(bb);
+        }
+        parse();
+        return this;
+    }
+
+    /**
+     * Returns the character sequence this view parses.
+     *
+     * @return the URI reference
+     */
+    public CharSequence input() {
+        return input;
+    }
+
+    /**
+     * Tells whether the given component is defined.
+     *
+     * @param  c the component
+     * @return {@code true} if the reference has that component
+     */
+    public boolean has(Component c) {
+        return bounds[c.ordinal() * 2] >= 0;
+    }
+
+    /**
+     * Returns the offset of the first character of the given component.
+     *
+     * @param  c the component
+     * @return the start offset, or -1 if the component is undefined
+     */
+    public int start(Component c) {
+        return bounds[c.ordinal() * 2];
+    }
+
+    /**
+     * Returns the offset after the last character of the given component.
+     *
+     * @param  c the component
+     * @return the end offset, or -1 if the component is undefined
+     */
+    public int end(Component c) {
+        return bounds[c.ordinal() * 2 + 1];
+    }
+
+    /**
+     * Returns the raw characters of the given component, as they appear
+     * in the reference.
+     *
+     * @param  c the component
+     * @return the component, or {@code null} if it is undefined
+     */
+    public CharSequence get(Component c) {
+        int i = c.ordinal() * 2;
+        return (bounds[i] < 0) ? null : input.subSequence(bounds[i], bounds[i + 1]);
+    }
+
+    /**
+     * Returns the given component with its escaped octets decoded as
+     * UTF-8.
+     *
+     * @param  c the component
+     * @return the decoded component, or {@code null} if it is undefined
+     * @throws IllegalArgumentException if the component contains an
+     *         illegal or incomplete escape sequence
+     */
+    public String getDecoded(Component c) {
+        if (!has(c))
+            return null;
+        StringBuilder sb = new StringBuilder(end(c) - start(c));
+        try {
+            appendDecoded(c, sb);
+        } catch (IOException x) {
+            throw new InternalError(x);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends the given component to {@code out} with its escaped octets
+     * decoded as UTF-8.  Nothing is appended if the component is
+     * undefined.
+     *
+     * @param  c the component
+     * @param  out the {@code Appendable} the component is appended to
+     * @return {@code true} if the component is defined
+     * @throws IOException if {@code out} throws one
+     * @throws IllegalArgumentException if the component contains an
+     *         illegal or incomplete escape sequence
+     */
+    public boolean appendDecoded(Component c, Appendable out)
+        throws IOException
+    {
+        int i = c.ordinal() * 2;
+        if (bounds[i] < 0)
+            return false;
+        URLDecoder.decode(input, bounds[i], bounds[i + 1],
+                          StandardCharsets.UTF_8, false, out);
+        return true;
+    }
+
+    /**
+     * Returns the port number of this reference.
+     *
+     * @return the port, or -1 if the port is undefined, empty or not a
+     *         number that fits in an {@code int}
+     */
+    public int getPort() {
+        int i = Component.PORT.ordinal() * 2;
+        int start = bounds[i], end = bounds[i + 1];
+        if (start < 0 || start == end || end - start > 10)
+            return -1;
+        long port = 0;
+        for (int j = start; j < end; j++) {
+            int d = input.charAt(j) - '0';
+            if (d < 0 || d > 9)
+                return -1;
+            port = port * 10 + d;
+        }
+        return (port > Integer.MAX_VALUE) ? -1 : (int) port;
+    }
+
+    /**
+     * Tells whether this reference is absolute, that is, has a scheme.
+     *
+     * @return {@code true} if this reference is absolute
+     */
+    public boolean isAbsolute() {
+        return has(Component.SCHEME);
+    }
+
+    /**
+     * Tells whether this reference is opaque, that is, absolute with a
+     * scheme-specific part that does not begin with a slash.
+     *
+     * @return {@code true} if this reference is opaque
+     */
+    public boolean isOpaque() {
+        return isAbsolute() && !has(Component.PATH);
+    }
+
+    /**
+     * Parses the reference into a {@link URI}, checking that it is legal.
+     *
+     * @return the URI
+     * @throws URISyntaxException if the reference violates RFC&nbsp;2396
+     */
+    public URI toURI() throws URISyntaxException {
+        return new URI(input.toString());
+    }
+
+    /**
+     * Returns the URI reference as a string.
+     *
+     * @return the URI reference
+     */
+    public String toString() {
+        return input.toString();
+    }
+
+    private void set(Component c, int start, int end) {
+        bounds[c.ordinal() * 2] = start;
+        bounds[c.ordinal() * 2 + 1] = end;
+    }
+
+    // Splits the input into its components, following RFC 3986 appendix B:
+    // ^(([^:/?#]+):)?(//([^/?#]*))?([^?#]*)(\?([^#]*))?(#(.*))?
+    private void parse() {
+        CharSequence s = input;
+        int n = s.length();
+        for (int i = 0; i < bounds.length; i++)
+            bounds[i] = -1;
+
+        int p = 0;
+        int fragment = indexOf(s, '#', 0, n);
+        int end = (fragment < 0) ? n : fragment;
+        if (fragment >= 0)
+            set(Component.FRAGMENT, fragment + 1, n);
+
+        // scheme: an alpha followed by scheme characters and a colon
+        if (n > 0 && isAlpha(s.charAt(0))) {
+            int i = 1;
+            char c = 0;
+            while (i < end && isSchemeChar(c = s.charAt(i)))
+                i++;
+            if (i < end && c == ':') {
+                set(Component.SCHEME, 0, i);
+                p = i + 1;
+                set(Component.SCHEME_SPECIFIC_PART, p, end);
+                if (p == end || s.charAt(p) != '/')
+                    return;                 // opaque
+            }
+        }
+
+        int query = indexOf(s, '?', p, end);
+        int pathEnd = (query < 0) ? end : query;
+        if (query >= 0)
+            set(Component.QUERY, query + 1, end);
+
+        if (p + 1 < pathEnd && s.charAt(p) == '/' && s.charAt(p + 1) == '/') {
+            int a = p + 2;
+            int ae = indexOf(s, '/', a, pathEnd);
+            if (ae < 0)
+                ae = pathEnd;
+            set(Component.AUTHORITY, a, ae);
+            parseAuthority(s, a, ae);
+            p = ae;
+        }
+        set(Component.PATH, p, pathEnd);
+    }
+
+    private void parseAuthority(CharSequence s, int start, int end) {
+        int at = lastIndexOf(s, '@', start, end);
+        int h = start;
+        if (at >= 0) {
+            set(Component.USER_INFO, start, at);
+            h = at + 1;
+        }
+        int colon;
+        if (h < end && s.charAt(h) == '[') {
+            int close = indexOf(s, ']', h, end);
+            if (close < 0) {
+                set(Component.HOST, h, end);
+                return;
+            }
+            colon = (close + 1 < end && s.charAt(close + 1) == ':') ? close + 1 : -1;
+            set(Component.HOST, h, (colon < 0) ? end : colon);
+        } else {
+            colon = lastIndexOf(s, ':', h, end);
+            set(Component.HOST, h, (colon < 0) ? end : colon);
+        }
+        if (colon >= 0)
+            set(Component.PORT, colon + 1, end);
+    }
+
+    private static int indexOf(CharSequence s, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) == c)
+                return i;
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(CharSequence s, char c, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (s.charAt(i) == c)
+                return i;
+        }
+        return -1;
+    }
+
+    private static boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isSchemeChar(char c) {
+        return isAlpha(c) || (c >= '0' && c <= '9')
+            || c == '+' || c == '-' || c == '.';
+    }
+
+    /*
+     * An ISO-8859-1 view of the remaining bytes of a buffer.
+     */
+    private static final class ByteChars implements CharSequence {
+        private ByteBuffer bb;
+        private int base, length;
+
+        ByteChars(ByteBuffer bb) {
+            reset(bb);
+        }
+
+        void reset(ByteBuffer bb) {
+            this.base = bb.position();
+            this.length = bb.remaining();
+            this.bb = bb;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public char charAt(int index) {
+            if (index < 0 || index >= length)
+                throw new IndexOutOfBoundsException("index " + index);
+            return (char) (bb.get(base + index) & 0xff);
+        }
+
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || start > end || end > length)
+                throw new IndexOutOfBoundsException();
+            char[] ca = new char[end - start];
+            for (int i = 0; i < ca.length; i++)
+                ca[i] = (char) (bb.get(base + start + i) & 0xff);
+            return new String(ca);
+        }
+
+        public String toString() {
+            return subSequence(0, length).toString();
+        }
+    }
+}
@@ -77,6 +77,27 @@ public class URLClassLoader extends SecureClassLoader implements Closeable {
     /* The context to be used when loading classes and resources */
     private final AccessControlContext acc;
 
+    /* The stream handler factory given to the constructor, if any */
+    private final URLStreamHandlerFactory factory;
+
+    /*
+     * The minimum number of URLs on the search path for which lookups
+     * go through a ResourceIndex; zero or less disables the index.
+     */
+    private static final int INDEX_THRESHOLD =
+        AccessController.doPrivileged(new sun.security.action.GetIntegerAction(
+            "java.net.URLClassLoader.indexThreshold", 16));
+
+    /*
+     * The index over the search path, built on first lookup.  It is
+     * current when indexChecked is set, and may then still be null if
+     * the search path is too short, cannot be indexed or is closed.
+     */
+    private final Object indexLock = new Object();
+    private volatile ResourceIndex index;
+    private volatile boolean indexChecked;
+    private boolean indexDisabled;      // guarded by indexLock
+
     /**
      * Constructs a new URLClassLoader for the given URLs. The URLs will be
      * searched in the order specified for classes and resources after first
@@ -104,6 +125,7 @@ public class URLClassLoader extends SecureClassLoader implements Closeable {
             security.checkCreateClassLoader();
         }
         this.acc = AccessController.getContext();
+        this.factory = null;
         ucp = new URLClassPath(urls, acc);
     }
 
@@ -116,6 +138,7 @@ public class URLClassLoader extends SecureClassLoader implements Closeable {
             security.checkCreateClassLoader();
         }
         this.acc = acc;
+        this.factory = null;
         ucp = new URLClassPath(urls, acc);
     }
 
@@ -148,6 +171,7 @@ public class URLClassLoader extends SecureClassLoader implements Closeable {
             security.checkCreateClassLoader();
         }
         this.acc = AccessController.getContext();
+        this.factory = null;
         ucp = new URLClassPath(urls, acc);
     }
 
@@ -159,6 +183,7 @@ public class URLClassLoader extends SecureClassLoader implements Closeable {
             security.checkCreateClassLoader();
         }
         this.acc = acc;
+        this.factory = null;
         ucp = new URLClassPath(urls, acc);
     }
 
@@ -192,6 +217,7 @@ public class URLClassLoader extends SecureClassLoader implements Closeable {
             security.checkCreateClassLoader();
         }
         acc = AccessController.getContext();
+        this.factory = factory;
         ucp = new URLClassPath(urls, factory, acc);
     }
 
@@ -289,6 +315,15 @@ public class URLClassLoader extends SecureClassLoader implements Closeable {
             security.checkPermission(new RuntimePermission("closeClassLoader"));
         }
         List<IOException> errors = ucp.closeLoaders();
+        synchronized (indexLock) {
+            ResourceIndex ix = index;
+            index = null;
+            indexDisabled = true;
+            indexChecked = true;
+            if (ix != null) {
+                errors.addAll(ix.close());
+            }
+        }
 
         // now close any remaining streams.
 
@@ -330,6 +365,52 @@ public class URLClassLoader extends SecureClassLoader implements Closeable {
      */
     protected void addURL(URL url) {
         ucp.addURL(url);
+        synchronized (indexLock) {
+            final ResourceIndex ix = index;
+            if (ix != null) {
+                final URL u = url;
+                index = AccessController.doPrivileged(
+                    new PrivilegedAction<ResourceIndex>() {
+                        public ResourceIndex run() {
+                            return ix.append(u);
+                        }
+                    }, acc);
+                if (index == null) {
+                    indexDisabled = true;
+                }
+            } else {
+                indexChecked = false;
+            }
+        }
+    }
+
+    /**
+     * Returns the index over the search path, building it on first use,
+     * or {@code null} if lookups should go through {@code ucp}.
+     */
+    private ResourceIndex index() {
+        if (indexChecked) {
+            return index;
+        }
+        synchronized (indexLock) {
+            if (!indexChecked) {
+                final URL[] urls = ucp.getURLs();
+                if (!indexDisabled && INDEX_THRESHOLD > 0
+                        && urls.length >= INDEX_THRESHOLD) {
+                    index = AccessController.doPrivileged(
+                        new PrivilegedAction<ResourceIndex>() {
+                            public ResourceIndex run() {
+                                return ResourceIndex.build(urls, factory, acc);
+                            }
+                        }, acc);
+                    if (index == null) {
+                        indexDisabled = true;
+                    }
+                }
+                indexChecked = true;
+            }
+            return index;
+        }
     }
 
     /**
@@ -362,7 +443,10 @@ public class URLClassLoader extends SecureClassLoader implements Closeable {
                 new PrivilegedExceptionAction<Class<?>>() {
                     public Class<?> run() throws ClassNotFoundException {
                         String path = name.replace('.', '/').concat(".class");
-                        Resource res = ucp.getResource(path, false);
+                        ResourceIndex ix = index();
+                        Resource res = (ix != null)
+                            ? ix.getResource(path, false)
+                            : ucp.getResource(path, false);
                         if (res != null) {
                             try {
                                 return defineClass(name, res);
@@ -566,7 +650,10 @@ public class URLClassLoader extends SecureClassLoader implements Closeable {
         URL url = AccessController.doPrivileged(
             new PrivilegedAction<URL>() {
                 public URL run() {
-                    return ucp.findResource(name, true);
+                    ResourceIndex ix = index();
+                    return (ix != null)
+                        ? ix.findResource(name, true)
+                        : ucp.findResource(name, true);
                 }
             }, acc);
 
@@ -585,7 +672,10 @@ public class URLClassLoader extends SecureClassLoader implements Closeable {
     public Enumeration<URL> findResources(final String name)
         throws IOException
     {
-        final Enumeration<URL> e = ucp.findResources(name, true);
+        final ResourceIndex ix = index();
+        final Enumeration<URL> e = (ix != null)
+            ? ix.findResources(name, true)
+            : ucp.findResources(name, true);
 
         return new Enumeration<URL>() {
             private URL url = null;
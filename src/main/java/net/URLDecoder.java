@@ -26,6 +26,9 @@
 package java.net;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Utility class for HTML form decoding. This class contains static methods
@@ -204,4 +207,142 @@ public class URLDecoder {
 
         return (needToChange? sb.toString() : s);
     }
+
+    /**
+     * Decodes an {@code application/x-www-form-urlencoded} character
+     * sequence using a specific charset, appending the result to
+     * {@code out}.  The rules are those of {@link #decode(String, String)};
+     * no intermediate {@code String} is created unless an escaped
+     * sequence decodes to non-ASCII characters.
+     *
+     * @param s the characters to decode
+     * @param charset the charset of the escaped bytes
+     * @param out the {@code Appendable} the decoded characters are
+     *        appended to
+     * @exception IOException if {@code out} throws one
+     * @exception IllegalArgumentException if {@code s} contains an
+     *            illegal or incomplete escape sequence
+     * @see URLEncoder#encode(CharSequence, Charset, Appendable)
+     * @since 1.8
+     */
+    public static void decode(CharSequence s, Charset charset, Appendable out)
+        throws IOException
+    {
+        if (charset == null)
+            throw new NullPointerException("charset");
+        decode(s, 0, s.length(), charset, true, out);
+    }
+
+    /**
+     * Decodes an {@code application/x-www-form-urlencoded} character
+     * sequence into the bytes it encodes, storing them in {@code out}
+     * at its position.  A plus sign becomes a space and
+     * "<i>{@code %xy}</i>" the byte <i>xy</i>; any other character is
+     * stored as its UTF-8 encoding.
+     *
+     * @param s the characters to decode
+     * @param out the buffer the decoded bytes are stored in
+     * @exception java.nio.BufferOverflowException if {@code out} has
+     *            insufficient space; the bytes decoded so far are stored
+     * @exception java.nio.ReadOnlyBufferException if {@code out} is
+     *            read-only
+     * @exception IllegalArgumentException if {@code s} contains an
+     *            illegal or incomplete escape sequence
+     * @since 1.8
+     */
+    public static void decode(CharSequence s, ByteBuffer out) {
+        int n = s.length();
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            if (c == '+') {
+                out.put((byte) ' ');
+                i++;
+            } else if (c == '%') {
+                if (i + 2 >= n)
+                    throw new IllegalArgumentException(
+                        "URLDecoder: Incomplete trailing escape (%) pattern");
+                out.put((byte) hexValue(s, i));
+                i += 3;
+            } else if (c < 0x80) {
+                out.put((byte) c);
+                i++;
+            } else {
+                int cp = c;
+                i++;
+                if (Character.isHighSurrogate(c) && i < n
+                        && Character.isLowSurrogate(s.charAt(i))) {
+                    cp = Character.toCodePoint(c, s.charAt(i++));
+                } else if (Character.isSurrogate(c)) {
+                    cp = '?';
+                }
+                URLEncoder.encodeUTF8(cp, out);
+            }
+        }
+    }
+
+    /*
+     * Decodes s[start, end) into out.  A plus sign is decoded as a space
+     * if plusAsSpace is set, as in form data, and kept otherwise, as in
+     * URI components.
+     */
+    static void decode(CharSequence s, int start, int end, Charset charset,
+                       boolean plusAsSpace, Appendable out)
+        throws IOException
+    {
+        // Bytes below 0x80 stand for themselves in these charsets
+        boolean latin1 = charset.equals(StandardCharsets.ISO_8859_1);
+        boolean ascii = latin1
+            || charset.equals(StandardCharsets.UTF_8)
+            || charset.equals(StandardCharsets.US_ASCII);
+        byte[] bytes = null;
+        int i = start;
+        while (i < end) {
+            char c = s.charAt(i);
+            if (c == '%') {
+                int pos = 0;
+                while (i + 2 < end && s.charAt(i) == '%') {
+                    int v = hexValue(s, i);
+                    i += 3;
+                    if (pos == 0 && ascii && (v < 0x80 || latin1)) {
+                        out.append((char) v);
+                    } else {
+                        // (end-i)/3 is an upper bound for the number
+                        // of remaining bytes
+                        if (bytes == null)
+                            bytes = new byte[(end - i) / 3 + 1];
+                        bytes[pos++] = (byte) v;
+                    }
+                }
+                // A trailing, incomplete byte encoding such as
+                // "%x" will cause an exception to be thrown
+                if (i < end && s.charAt(i) == '%')
+                    throw new IllegalArgumentException(
+                        "URLDecoder: Incomplete trailing escape (%) pattern");
+                if (pos > 0)
+                    out.append(new String(bytes, 0, pos, charset));
+            } else if (c == '+' && plusAsSpace) {
+                out.append(' ');
+                i++;
+            } else {
+                int j = i + 1;
+                while (j < end && (c = s.charAt(j)) != '%'
+                       && (c != '+' || !plusAsSpace))
+                    j++;
+                out.append(s, i, j);
+                i = j;
+            }
+        }
+    }
+
+    // Returns the byte encoded by the escape sequence at s[i]
+    private static int hexValue(CharSequence s, int i) {
+        int hi = Character.digit(s.charAt(i + 1), 16);
+        int lo = Character.digit(s.charAt(i + 2), 16);
+        if (hi < 0 || lo < 0)
+            throw new IllegalArgumentException(
+                "URLDecoder: Illegal hex characters in escape (%) pattern - "
+                + s.subSequence(i, i + 3));
+        return (hi << 4) | lo;
+    }
 }
@@ -31,8 +31,10 @@ import java.io.OutputStreamWriter;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.io.CharArrayWriter;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException ;
 import java.util.BitSet;
 import java.security.AccessController;
@@ -289,4 +291,118 @@ public class URLEncoder {
 
         return (needToChange? out.toString() : s);
     }
+
+    /**
+     * Translates a character sequence into {@code application/x-www-form-urlencoded}
+     * format using a specific charset, appending the result to
+     * {@code out}.  The rules are those of {@link #encode(String, String)};
+     * with the UTF-8 charset no intermediate {@code String} or byte array
+     * is created.
+     *
+     * @param s the characters to translate
+     * @param charset the charset used to obtain the bytes of unsafe
+     *        characters
+     * @param out the {@code Appendable} the translated characters are
+     *        appended to
+     * @exception IOException if {@code out} throws one
+     * @see URLDecoder#decode(CharSequence, Charset, Appendable)
+     * @since 1.8
+     */
+    public static void encode(CharSequence s, Charset charset, Appendable out)
+        throws IOException
+    {
+        if (charset == null)
+            throw new NullPointerException("charset");
+        boolean utf8 = charset.equals(StandardCharsets.UTF_8);
+        int n = s.length();
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            if (dontNeedEncoding.get(c)) {
+                int j = i;
+                while (j < n && (c = s.charAt(j)) != ' '
+                       && dontNeedEncoding.get(c))
+                    j++;
+                if (j > i) {
+                    out.append(s, i, j);
+                    i = j;
+                } else {
+                    out.append('+');
+                    i++;
+                }
+                continue;
+            }
+            // convert the run of unsafe characters to the external
+            // encoding before hex conversion
+            int start = i;
+            do {
+                i++;
+            } while (i < n && !dontNeedEncoding.get(s.charAt(i)));
+            if (utf8) {
+                for (int j = start; j < i; ) {
+                    int cp = s.charAt(j++);
+                    if (Character.isHighSurrogate((char) cp) && j < i
+                            && Character.isLowSurrogate(s.charAt(j))) {
+                        cp = Character.toCodePoint((char) cp, s.charAt(j++));
+                    } else if (Character.isSurrogate((char) cp)) {
+                        cp = '?';
+                    }
+                    appendUTF8Escapes(cp, out);
+                }
+            } else {
+                byte[] ba = s.subSequence(start, i).toString().getBytes(charset);
+                for (byte b : ba)
+                    appendEscape(b, out);
+            }
+        }
+    }
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    // Appends "%xy" for the byte b
+    private static void appendEscape(int b, Appendable out) throws IOException {
+        out.append('%');
+        out.append(HEX_DIGITS[(b >> 4) & 0xF]);
+        out.append(HEX_DIGITS[b & 0xF]);
+    }
+
+    // Appends the escaped UTF-8 encoding of the code point cp
+    private static void appendUTF8Escapes(int cp, Appendable out)
+        throws IOException
+    {
+        if (cp < 0x80) {
+            appendEscape(cp, out);
+        } else if (cp < 0x800) {
+            appendEscape(0xC0 | (cp >> 6), out);
+            appendEscape(0x80 | (cp & 0x3F), out);
+        } else if (cp < 0x10000) {
+            appendEscape(0xE0 | (cp >> 12), out);
+            appendEscape(0x80 | ((cp >> 6) & 0x3F), out);
+            appendEscape(0x80 | (cp & 0x3F), out);
+        } else {
+            appendEscape(0xF0 | (cp >> 18), out);
+            appendEscape(0x80 | ((cp >> 12) & 0x3F), out);
+            appendEscape(0x80 | ((cp >> 6) & 0x3F), out);
+            appendEscape(0x80 | (cp & 0x3F), out);
+        }
+    }
+
+    // Stores the UTF-8 encoding of the code point cp in out
+    static void encodeUTF8(int cp, ByteBuffer out) {
+        if (cp < 0x80) {
+            out.put((byte) cp);
+        } else if (cp < 0x800) {
+            out.put((byte) (0xC0 | (cp >> 6)));
+            out.put((byte) (0x80 | (cp & 0x3F)));
+        } else if (cp < 0x10000) {
+            out.put((byte) (0xE0 | (cp >> 12)));
+            out.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+            out.put((byte) (0x80 | (cp & 0x3F)));
+        } else {
+            out.put((byte) (0xF0 | (cp >> 18)));
+            out.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+            out.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+            out.put((byte) (0x80 | (cp & 0x3F)));
+        }
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.net.spi;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * A resolver of host names and addresses, used by {@link InetAddress} for
+ * forward and reverse lookups.
+ *
+ * <p> A resolver is obtained from an {@link InetAddressResolverProvider}.
+ * Its methods may be invoked by multiple concurrent threads.  Results are
+ * cached by {@code InetAddress} according to its caching policy, so a
+ * resolver need not cache them itself.
+ *
+ * @see InetAddressResolverProvider
+ * @since 1.8
+ */
+public interface InetAddressResolver {
+
+    /**
+     * Returns the addresses of the given host.
+     *
+     * @param  host
+     *         The host name to look up; never {@code null}, empty, or a
+     *         literal IP address
+     *
+     * @return  A non-empty array of the host's addresses
+     *
+     * @throws  UnknownHostException
+     *          If no address could be found for the host
+     */
+    InetAddress[] lookupByName(String host) throws UnknownHostException;
+
+    /**
+     * Returns the host name for the given raw IP address.
+     *
+     * @param  addr
+     *         The raw IP address in network byte order, 4 bytes for IPv4
+     *         and 16 bytes for IPv6
+     *
+     * @return  The host name
+     *
+     * @throws  UnknownHostException
+     *          If no host name could be found for the address
+     */
+    String lookupByAddress(byte[] addr) throws UnknownHostException;
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.net.spi;
+
+import java.net.InetAddress;
+
+/**
+ * Service-provider class for host name resolution.
+ *
+ * <p> A resolver provider is a concrete subclass of this class that has a
+ * zero-argument constructor and is registered as a service in a resource
+ * named {@code META-INF/services/java.net.spi.InetAddressResolverProvider},
+ * as described by {@link java.util.ServiceLoader}.  The first provider
+ * found by the system class loader is installed when {@link InetAddress}
+ * first needs to resolve a host name or address, and is used for the
+ * lifetime of the virtual machine.  If no provider is found, the
+ * platform's built-in resolver is used.
+ *
+ * <p> Lookups performed while the provider is being located or
+ * instantiated use the built-in resolver.
+ *
+ * @see InetAddressResolver
+ * @since 1.8
+ */
+public abstract class InetAddressResolverProvider {
+
+    private static Void checkPermission() {
+        SecurityManager sm = System.getSecurityManager();
+        if (sm != null)
+            sm.checkPermission(new RuntimePermission("inetAddressResolverProvider"));
+        return null;
+    }
+
+    private InetAddressResolverProvider(Void ignore) { }
+
+    /**
+     * Initializes a new instance of this class.
+     *
+     * @throws  SecurityException
+     *          If a security manager has been installed and it denies
+     *          {@link RuntimePermission}{@code ("inetAddressResolverProvider")}
+     */
+    protected InetAddressResolverProvider() {
+        this(checkPermission());
+    }
+
+    /**
+     * Returns the resolver to be used by {@link InetAddress}.
+     *
+     * @param  builtin
+     *         The platform's built-in resolver, to which the returned
+     *         resolver may delegate
+     *
+     * @return  The resolver
+     */
+    public abstract InetAddressResolver get(InetAddressResolver builtin);
+
+    /**
+     * Returns the name of this provider.
+     *
+     * @return  The name of this provider
+     */
+    public abstract String name();
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.nio;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of reusable direct byte buffers.
+ *
+ * <p> {@link ByteBuffer#allocateDirect ByteBuffer.allocateDirect} zeroes
+ * the memory it allocates, registers a cleaner for every buffer, and, when
+ * the direct memory limit is near, may trigger garbage collections and
+ * sleep while waiting for other buffers to be freed.  Code that allocates
+ * and drops direct buffers at a high rate can avoid those costs by
+ * obtaining buffers from a pool with {@link #acquire acquire} and handing
+ * them back with {@link #release release} when done.
+ *
+ * <p> Requested capacities are rounded up to a <i>size class</i>.  Size
+ * classes start at 256 bytes and are spaced four to each doubling of
+ * size (256, 320, 384, 448, 512, 640, ...), so that rounding wastes at
+ * most a quarter of each buffer.  Each size class has a shared arena of
+ * free buffers, and each thread keeps a small cache of free buffers per
+ * size class in front of the arenas, so that a thread that releases and
+ * then re-acquires buffers of the same size usually touches no shared
+ * state.  Requests larger than the pool's maximum buffer size are not
+ * pooled: they are allocated directly, and dropped when released.
+ *
+ * <p> A buffer returned by {@code acquire} is cleared, has big-endian byte
+ * order, and has a capacity of at least the requested size, with its limit
+ * set to the requested size.  Unlike a freshly allocated buffer, its
+ * contents are unspecified.  Once a buffer has been released it must not
+ * be used, or released again, by the caller; doing so may corrupt data
+ * belonging to another user of the pool.  Buffers that are never released
+ * are reclaimed by the garbage collector as usual.
+ *
+ * <p> Pools are safe for use by multiple concurrent threads.
+ *
+ * @see ByteBufferPoolMXBean
+ * @since 1.8
+ */
+public final class ByteBufferPool {
+
+    // Size classes: index 0 is MIN_SIZE, then four classes for each
+    // power-of-two interval (2^k, 2^(k+1)] up to the maximum buffer size.
+
+    private static final int LOG2_MIN_SIZE = 8;
+    private static final int MIN_SIZE = 1 << LOG2_MIN_SIZE;
+    private static final int CLASSES_PER_DOUBLING = 4;
+
+    /** Default maximum pooled buffer size: 1 MiB. */
+    private static final int DEFAULT_MAX_BUFFER_SIZE = 1 << 20;
+
+    /** Default maximum number of bytes held in the shared arenas: 64 MiB. */
+    private static final long DEFAULT_MAX_POOLED_BYTES = 64L << 20;
+
+    /** Maximum bytes cached per thread and size class. */
+    private static final int THREAD_CACHE_BYTES = 64 * 1024;
+
+    /** Maximum buffers cached per thread and size class. */
+    private static final int THREAD_CACHE_COUNT = 16;
+
+    /**
+     * Returns the index of the size class for the given positive capacity.
+     */
+    static int sizeClass(int cap) {
+        if (cap <= MIN_SIZE)
+            return 0;
+        int k = 31 - Integer.numberOfLeadingZeros(cap - 1); // 2^k < cap
+        int j = ((cap - 1) >>> (k - 2)) - CLASSES_PER_DOUBLING; // 0..3
+        return 1 + (k - LOG2_MIN_SIZE) * CLASSES_PER_DOUBLING + j;
+    }
+
+    /**
+     * Returns the capacity of the given size class.
+     */
+    static int classSize(int index) {
+        if (index == 0)
+            return MIN_SIZE;
+        int k = (index - 1) / CLASSES_PER_DOUBLING + LOG2_MIN_SIZE;
+        int j = (index - 1) % CLASSES_PER_DOUBLING;
+        return (1 << k) + ((j + 1) << (k - 2));
+    }
+
+    private final String name;
+    private final int maxBufferSize;
+    private final long maxPooledBytes;
+    private final int classCount;
+    private final ConcurrentLinkedQueue<ByteBuffer>[] arenas;
+    private final AtomicLong arenaBytes = new AtomicLong();
+    private final ThreadLocal<ThreadCache> threadCache;
+
+    // Statistics
+    private final LongAdder acquires = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder liveCount = new LongAdder();
+    private final LongAdder liveCapacity = new LongAdder();
+    private final LongAdder pooledCount = new LongAdder();
+    private final LongAdder pooledCapacity = new LongAdder();
+
+    private volatile Metrics metrics;
+
+    /**
+     * Attached to every buffer this pool allocates, so that only those
+     * buffers are accepted by release.  A separate object, rather than the
+     * pool itself, so that a leaked buffer does not keep the pool's free
+     * buffers reachable.
+     */
+    private final Object marker = new Object();
+
+    /**
+     * Creates a pool with the given name, a maximum pooled buffer size of
+     * 1 MiB, and at most 64 MiB of free buffers held in its shared arenas.
+     *
+     * @param  name
+     *         The name of the pool, used to identify its MXBean
+     */
+    public ByteBufferPool(String name) {
+        this(name, DEFAULT_MAX_BUFFER_SIZE, DEFAULT_MAX_POOLED_BYTES);
+    }
+
+    /**
+     * Creates a pool with the given name and limits.
+     *
+     * @param  name
+     *         The name of the pool, used to identify its MXBean
+     *
+     * @param  maxBufferSize
+     *         The largest capacity that is pooled; it is rounded up to a
+     *         power of two
+     *
+     * @param  maxPooledBytes
+     *         The maximum total capacity of the free buffers held in the
+     *         pool's shared arenas.  Buffers cached by individual threads
+     *         are not included in this limit
+     *
+     * @throws  IllegalArgumentException
+     *          If {@code maxBufferSize} is not positive or greater than
+     *          2<sup>30</sup>, or if {@code maxPooledBytes} is negative
+     */
+    @SuppressWarnings("unchecked")
+    public ByteBufferPool(String name, int maxBufferSize, long maxPooledBytes) {
+        if (name == null)
+            throw new NullPointerException("name");
+        if (maxBufferSize <= 0 || maxBufferSize > (1 << 30))
+            throw new IllegalArgumentException("maxBufferSize: " + maxBufferSize);
+        if (maxPooledBytes < 0)
+            throw new IllegalArgumentException("maxPooledBytes: " + maxPooledBytes);
+        int max = Math.max(Integer.highestOneBit(maxBufferSize - 1) << 1, MIN_SIZE);
+        this.name = name;
+        this.maxBufferSize = max;
+        this.maxPooledBytes = maxPooledBytes;
+        this.classCount = sizeClass(max) + 1;
+        this.arenas = (ConcurrentLinkedQueue<ByteBuffer>[])
+            new ConcurrentLinkedQueue<?>[classCount];
+        for (int i = 0; i < classCount; i++)
+            arenas[i] = new ConcurrentLinkedQueue<>();
+        this.threadCache = ThreadLocal.withInitial(() -> new ThreadCache(classCount));
+    }
+
+    /**
+     * Returns the name of this pool.
+     *
+     * @return  The name of this pool
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the largest capacity that this pool recycles.
+     *
+     * @return  The maximum pooled buffer size
+     */
+    public int maxBufferSize() {
+        return maxBufferSize;
+    }
+
+    /**
+     * Obtains a direct byte buffer with at least the given capacity.
+     *
+     * <p> The returned buffer's position is zero, its limit is
+     * {@code capacity}, its mark is undefined, and its byte order is
+     * {@link ByteOrder#BIG_ENDIAN BIG_ENDIAN}.  Its capacity may be larger
+     * than requested, and its contents are unspecified.
+     *
+     * @param  capacity
+     *         The required capacity, in bytes
+     *
+     * @return  A direct byte buffer
+     *
+     * @throws  IllegalArgumentException
+     *          If {@code capacity} is negative
+     */
+    public ByteBuffer acquire(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("capacity: " + capacity);
+        acquires.increment();
+        if (capacity > maxBufferSize) {
+            // too large to pool
+            ByteBuffer bb = new DirectByteBuffer(capacity, marker);
+            liveCount.increment();
+            liveCapacity.add(capacity);
+            return bb;
+        }
+        int c = sizeClass(Math.max(capacity, 1));
+        int size = classSize(c);
+        ByteBuffer bb = threadCache.get().pop(c);
+        if (bb == null && (bb = arenas[c].poll()) != null)
+            arenaBytes.addAndGet(-size);
+        if (bb != null) {
+            hits.increment();
+            pooledCount.decrement();
+            pooledCapacity.add(-size);
+            bb.clear();
+            bb.order(ByteOrder.BIG_ENDIAN);
+        } else {
+            bb = new DirectByteBuffer(size, marker);
+            liveCount.increment();
+            liveCapacity.add(size);
+        }
+        bb.limit(capacity);
+        return bb;
+    }
+
+    /**
+     * Returns a buffer to this pool.
+     *
+     * <p> The buffer should have been obtained from this pool by {@link
+     * #acquire acquire}; after this method returns it must no longer be
+     * used.  Buffers that cannot be pooled, such as buffers too large for
+     * the pool or buffers for which there is no room, are dropped and
+     * left to the garbage collector.
+     *
+     * @param  buffer
+     *         The buffer to release
+     *
+     * @throws  IllegalArgumentException
+     *          If the buffer was not obtained from this pool, for example
+     *          if it is a heap buffer, a buffer allocated by {@link
+     *          ByteBuffer#allocateDirect allocateDirect}, a mapped buffer,
+     *          or a slice, duplicate or read-only view of another buffer
+     */
+    public void release(ByteBuffer buffer) {
+        if (!(buffer instanceof DirectByteBuffer) || buffer.isReadOnly()
+            || ((DirectByteBuffer)buffer).attachment() != marker)
+            throw new IllegalArgumentException("Not a pooled buffer");
+        int cap = buffer.capacity();
+        int c = (cap > 0 && cap <= maxBufferSize) ? sizeClass(cap) : -1;
+        if (c < 0 || classSize(c) != cap) {
+            // not a size class; leave it to its cleaner
+            liveCount.decrement();
+            liveCapacity.add(-cap);
+            return;
+        }
+        pooledCount.increment();
+        pooledCapacity.add(cap);
+        if (threadCache.get().push(c, buffer))
+            return;
+        long b;
+        do {
+            if ((b = arenaBytes.get()) + cap > maxPooledBytes) {
+                pooledCount.decrement();
+                pooledCapacity.add(-cap);
+                liveCount.decrement();
+                liveCapacity.add(-cap);
+                return;
+            }
+        } while (!arenaBytes.compareAndSet(b, b + cap));
+        arenas[c].offer(buffer);
+    }
+
+    /**
+     * Per-thread stacks of free buffers, one per size class.
+     */
+    private static final class ThreadCache {
+        final ByteBuffer[][] stacks;
+        final int[] tops;
+
+        ThreadCache(int classCount) {
+            stacks = new ByteBuffer[classCount][];
+            tops = new int[classCount];
+        }
+
+        ByteBuffer pop(int c) {
+            int t = tops[c];
+            if (t == 0)
+                return null;
+            ByteBuffer[] s = stacks[c];
+            ByteBuffer bb = s[--t];
+            s[t] = null;
+            tops[c] = t;
+            return bb;
+        }
+
+        boolean push(int c, ByteBuffer bb) {
+            ByteBuffer[] s = stacks[c];
+            if (s == null) {
+                int n = Math.min(THREAD_CACHE_COUNT,
+                                 THREAD_CACHE_BYTES / classSize(c));
+                if (n == 0)
+                    return false;
+                stacks[c] = s = new ByteBuffer[n];
+            }
+            int t = tops[c];
+            if (t == s.length)
+                return false;
+            s[t] = bb;
+            tops[c] = t + 1;
+            return true;
+        }
+    }
+
+    /**
+     * Returns the management interface of this pool.  The first call
+     * registers the returned MXBean with the platform {@code MBeanServer};
+     * registration is best-effort, and the MXBean remains usable through
+     * this method if it fails.
+     *
+     * @return  The management interface of this pool
+     */
+    public ByteBufferPoolMXBean getMXBean() {
+        Metrics m;
+        if ((m = metrics) == null) {
+            synchronized (this) {
+                if ((m = metrics) == null) {
+                    metrics = m = new Metrics();
+                    m.register();
+                }
+            }
+        }
+        return m;
+    }
+
+    private final class Metrics implements ByteBufferPoolMXBean {
+        private volatile javax.management.ObjectName objectName;
+
+        /**
+         * Registers with the platform MBeanServer, ignoring failures.
+         */
+        void register() {
+            try {
+                javax.management.ObjectName on = getObjectName();
+                java.security.AccessController.doPrivileged
+                    (new java.security.PrivilegedExceptionAction<Void>() {
+                        public Void run() throws Exception {
+                            java.lang.management.ManagementFactory
+                                .getPlatformMBeanServer()
+                                .registerMBean(Metrics.this, on);
+                            return null;
+                        }});
+            } catch (Exception ignore) {
+            }
+        }
+
+        public javax.management.ObjectName getObjectName() {
+            javax.management.ObjectName on = objectName;
+            if (on == null) {
+                String prefix = "java.nio:type=BufferPool,name=";
+                try {
+                    on = new javax.management.ObjectName(prefix + name);
+                } catch (javax.management.MalformedObjectNameException e) {
+                    try {
+                        on = new javax.management.ObjectName
+                            (prefix + javax.management.ObjectName.quote(name));
+                    } catch (javax.management.MalformedObjectNameException x) {
+                        throw new IllegalArgumentException(x);
+                    }
+                }
+                objectName = on;
+            }
+            return on;
+        }
+
+        public String getName() { return name; }
+        public long getCount() { return liveCount.sum(); }
+        public long getTotalCapacity() { return liveCapacity.sum(); }
+        public long getMemoryUsed() { return liveCapacity.sum(); }
+        public long getPooledCount() { return pooledCount.sum(); }
+        public long getPooledCapacity() { return pooledCapacity.sum(); }
+        public long getAcquireCount() { return acquires.sum(); }
+        public long getHitCount() { return hits.sum(); }
+
+        public double getHitRate() {
+            long a = acquires.sum();
+            return (a == 0) ? Double.NaN : (double)hits.sum() / a;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.nio;
+
+import java.lang.management.BufferPoolMXBean;
+
+/**
+ * The management interface for a {@link ByteBufferPool}.
+ *
+ * <p> An instance of this interface is an {@link javax.management.MXBean
+ * MXBean} obtained by calling {@link ByteBufferPool#getMXBean} on the pool
+ * to be monitored.  The first such call registers it with the platform
+ * {@link javax.management.MBeanServer MBeanServer} alongside the platform
+ * buffer pools, under an {@link javax.management.ObjectName ObjectName} of
+ * the form:
+ * <pre>
+ *     java.nio:type=BufferPool,name=<i>pool name</i>
+ * </pre>
+ *
+ * <p> The {@link BufferPoolMXBean} attributes describe the buffers that
+ * the pool has allocated and not yet discarded, whether they are currently
+ * held by the pool or in use by its clients.  The additional attributes
+ * describe the pool's occupancy and effectiveness.  All values are
+ * estimates that may be stale by the time they are returned.
+ *
+ * @see ByteBufferPool#getMXBean
+ * @since 1.8
+ */
+public interface ByteBufferPoolMXBean extends BufferPoolMXBean {
+
+    /**
+     * Returns an estimate of the number of buffers held by the pool and
+     * available for reuse, including those cached by individual threads.
+     *
+     * @return  An estimate of the number of pooled buffers
+     */
+    long getPooledCount();
+
+    /**
+     * Returns an estimate of the total capacity, in bytes, of the buffers
+     * held by the pool and available for reuse.
+     *
+     * @return  An estimate of the total capacity of pooled buffers
+     */
+    long getPooledCapacity();
+
+    /**
+     * Returns the number of buffers handed out by {@link
+     * ByteBufferPool#acquire}.
+     *
+     * @return  The number of acquisitions
+     */
+    long getAcquireCount();
+
+    /**
+     * Returns the number of acquisitions that reused a pooled buffer
+     * instead of allocating a new one.
+     *
+     * @return  The number of pool hits
+     */
+    long getHitCount();
+
+    /**
+     * Returns the ratio of hits to acquisitions, or {@code NaN} if no
+     * buffer has been acquired.
+     *
+     * @return  The pool hit rate
+     */
+    double getHitRate();
+}
@@ -112,9 +112,16 @@ class DirectByteBuffer
 
 
 
-    // Primary constructor
-    //
     DirectByteBuffer(int cap) {                   // package-private
+        this(cap, null);
+    }
+
+
+
+    // Primary constructor.  A given object may be attached to the buffer;
+    // ByteBufferPool attaches a marker by which it recognises its own buffers
+    //
+    DirectByteBuffer(int cap, Object ob) {        // package-private
 
         super(-1, 0, cap, cap);
         boolean pa = VM.isDirectMemoryPageAligned();
@@ -137,7 +144,7 @@ class DirectByteBuffer
             address = base;
         }
         cleaner = Cleaner.create(this, new Deallocator(base, size, cap));
-        att = null;
+        att = ob;
 
 
 
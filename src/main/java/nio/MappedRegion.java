@@ -0,0 +1,987 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.nio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import sun.misc.Cleaner;
+
+/**
+ * A memory-mapped region of a file that can be unmapped explicitly.
+ *
+ * <p> A {@link MappedByteBuffer} obtained from {@link FileChannel#map
+ * FileChannel.map} is limited to 2<sup>31</sup>&nbsp;-&nbsp;1 bytes and
+ * remains mapped until the buffer is garbage collected.  A mapped region
+ * is addressed by 64-bit offsets and may be arbitrarily large: it is
+ * mapped as a sequence of buffers of up to 1 GiB each, and accesses that
+ * straddle two of them are assembled transparently.  Its mapping is
+ * released by {@link #unmap unmap} (or {@link #close close}) as soon as
+ * any accesses in progress have completed; the region cannot be accessed
+ * afterwards, and attempts to do so throw {@link IllegalStateException}
+ * rather than touching unmapped memory.  The underlying buffers are never
+ * exposed.
+ *
+ * <p> For files too large to be mapped in one piece, a {@link Window}
+ * obtained from {@link #reader reader} maps a bounded window of the file
+ * at a time, moving it as it is read and unmapping each window as soon as
+ * it is replaced.
+ *
+ * <p> Multi-byte values are read and written in the region's {@link
+ * #order() byte order}, which is initially {@link ByteOrder#BIG_ENDIAN
+ * BIG_ENDIAN}.  Mapped regions are safe for use by multiple concurrent
+ * threads, although concurrent accesses to overlapping bytes are not
+ * synchronized with one another, and changing the byte order while other
+ * threads access the region has unspecified results.
+ *
+ * @see FileChannel#map
+ * @since 1.8
+ */
+public final class MappedRegion implements Closeable {
+
+    /**
+     * Hints describing how a region of mapped memory will be accessed,
+     * in the manner of {@code madvise}.
+     *
+     * @see MappedRegion#advise
+     * @since 1.8
+     */
+    public enum Advice {
+        /** No particular access pattern; the default. */
+        NORMAL,
+        /** The memory will be accessed in order of increasing offset. */
+        SEQUENTIAL,
+        /** The memory will be accessed in no particular order. */
+        RANDOM,
+        /** The memory will be accessed soon. */
+        WILLNEED
+    }
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final long position;
+    private final long size;
+    private final boolean readOnly;
+    private volatile ByteBuffer[] segments; // null once unmapped
+    private volatile ByteOrder order = ByteOrder.BIG_ENDIAN;
+
+    /*
+     * Accesses in progress are counted in a striped array, so that threads
+     * accessing the region concurrently increment counters in different
+     * cache lines.  A thread always uses the stripe selected by its id.
+     * An access increments its stripe and then checks the state; unmap
+     * sets the state and then waits for every stripe to drain.  Since
+     * both sides write before they read, either the access sees that the
+     * region is being unmapped and backs out, or unmap sees the access
+     * and waits for it.
+     */
+    private static final int STRIPES;
+    private static final int PAD_SHIFT = 4;    // 16 ints, one cache line
+    static {
+        int n = Integer.highestOneBit(
+            Math.max(Runtime.getRuntime().availableProcessors(), 1) * 2 - 1);
+        STRIPES = Math.min(Math.max(n, 2), 64);
+    }
+
+    private final AtomicIntegerArray inUse =
+        new AtomicIntegerArray(STRIPES << PAD_SHIFT);
+
+    // 0 while mapped, 1 once unmap has started; written only by unmap
+    private final AtomicInteger state = new AtomicInteger();
+
+    private MappedRegion(long position, long size, boolean readOnly,
+                         ByteBuffer[] segments) {
+        this.position = position;
+        this.size = size;
+        this.readOnly = readOnly;
+        this.segments = segments;
+    }
+
+    /**
+     * Maps a region of the given channel's file directly into memory.
+     *
+     * <p> The mode, position and size are interpreted as for {@link
+     * FileChannel#map FileChannel.map}, except that the size is not
+     * limited to {@link Integer#MAX_VALUE}.  The returned region remains
+     * mapped, independently of the channel, until it is unmapped.
+     *
+     * @param  channel
+     *         The file channel
+     *
+     * @param  mode
+     *         One of the constants {@link FileChannel.MapMode#READ_ONLY
+     *         READ_ONLY}, {@link FileChannel.MapMode#READ_WRITE READ_WRITE}
+     *         or {@link FileChannel.MapMode#PRIVATE PRIVATE}
+     *
+     * @param  position
+     *         The position within the file at which the mapped region is
+     *         to start; must be non-negative
+     *
+     * @param  size
+     *         The size of the region to be mapped; must be non-negative
+     *
+     * @return  The mapped region
+     *
+     * @throws  IllegalArgumentException
+     *          If the preconditions on the parameters do not hold
+     *
+     * @throws  IOException
+     *          If some other I/O error occurs, including those described
+     *          by {@link FileChannel#map FileChannel.map}
+     */
+    public static MappedRegion map(FileChannel channel,
+                                   FileChannel.MapMode mode,
+                                   long position, long size)
+        throws IOException
+    {
+        Objects.requireNonNull(channel, "channel");
+        Objects.requireNonNull(mode, "mode");
+        if (position < 0L)
+            throw new IllegalArgumentException("Negative position");
+        if (size < 0L)
+            throw new IllegalArgumentException("Negative size");
+        if (position + size < 0)
+            throw new IllegalArgumentException("Position + size overflow");
+        int n = (int)((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        ByteBuffer[] segs = new ByteBuffer[n];
+        try {
+            for (int i = 0; i < n; i++) {
+                long off = (long)i << SEGMENT_SHIFT;
+                segs[i] = channel.map(mode, position + off,
+                                      Math.min(SEGMENT_SIZE, size - off));
+            }
+        } catch (IOException | RuntimeException | Error x) {
+            unmap(segs);
+            throw x;
+        }
+        return new MappedRegion(position, size,
+                                mode == FileChannel.MapMode.READ_ONLY, segs);
+    }
+
+    /**
+     * Returns the position in the file at which this region starts.
+     *
+     * @return  The file position of this region
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Returns the size of this region.
+     *
+     * @return  The size of this region, in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Tells whether this region is read-only.
+     *
+     * @return  {@code true} if this region was mapped read-only
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Tells whether this region is still mapped.
+     *
+     * @return  {@code false} once this region has been unmapped
+     */
+    public boolean isMapped() {
+        return state.get() == 0;
+    }
+
+    /**
+     * Returns this region's byte order.
+     *
+     * @return  This region's byte order
+     */
+    public ByteOrder order() {
+        return order;
+    }
+
+    /**
+     * Modifies this region's byte order.
+     *
+     * @param  bo
+     *         The new byte order
+     *
+     * @return  This region
+     *
+     * @throws  IllegalStateException
+     *          If this region has been unmapped
+     */
+    public MappedRegion order(ByteOrder bo) {
+        Objects.requireNonNull(bo);
+        ByteBuffer[] segs = begin();
+        try {
+            order = bo;
+            for (ByteBuffer seg : segs)
+                seg.order(bo);
+        } finally {
+            end();
+        }
+        return this;
+    }
+
+    // -- Access control --
+
+    /**
+     * Registers an access in progress, returning the segments to use.
+     */
+    private ByteBuffer[] begin() {
+        int i = stripe();
+        inUse.getAndIncrement(i);
+        if (state.get() != 0) {
+            inUse.getAndDecrement(i);
+            throw new IllegalStateException("Region unmapped");
+        }
+        return segments;
+    }
+
+    private void end() {
+        inUse.getAndDecrement(stripe());
+    }
+
+    /**
+     * Returns the index of the current thread's in-use counter.
+     */
+    private static int stripe() {
+        return ((int)Thread.currentThread().getId() & (STRIPES - 1))
+            << PAD_SHIFT;
+    }
+
+    private void checkIndex(long offset, long n) {
+        if (offset < 0L || n < 0L || offset > size - n)
+            throw new IndexOutOfBoundsException("offset " + offset +
+                                                ", length " + n +
+                                                ", size " + size);
+    }
+
+    /**
+     * Unmaps this region.  Accesses that are in progress in other threads
+     * are allowed to complete first.  Invoking this method on a region
+     * that is already unmapped has no effect.
+     *
+     * <p> Once unmapped, any attempt to access this region throws {@link
+     * IllegalStateException}.  Changes made to a {@link
+     * FileChannel.MapMode#READ_WRITE READ_WRITE} region are written back
+     * by the operating system as usual, but are not forced to storage;
+     * invoke {@link #force force} first if that is required.
+     */
+    public void unmap() {
+        if (!state.compareAndSet(0, 1))
+            return;
+        for (int i = 0; i < STRIPES; i++) {
+            while (inUse.get(i << PAD_SHIFT) != 0)
+                Thread.yield();
+        }
+        ByteBuffer[] segs = segments;
+        segments = null;
+        unmap(segs);
+    }
+
+    private static void unmap(ByteBuffer[] segs) {
+        for (ByteBuffer seg : segs) {
+            if (seg != null) {
+                Cleaner cl = ((DirectByteBuffer)seg).cleaner();
+                if (cl != null)
+                    cl.clean();
+            }
+        }
+    }
+
+    /**
+     * Unmaps this region; equivalent to {@link #unmap unmap}.
+     */
+    public void close() {
+        unmap();
+    }
+
+    // -- Single-value access --
+
+    /**
+     * Reads the byte at the given offset.
+     *
+     * @param  offset
+     *         The offset within this region
+     *
+     * @return  The byte at the given offset
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this region
+     *
+     * @throws  IllegalStateException
+     *          If this region has been unmapped
+     */
+    public byte get(long offset) {
+        checkIndex(offset, 1L);
+        ByteBuffer[] segs = begin();
+        try {
+            return segs[(int)(offset >>> SEGMENT_SHIFT)]
+                .get((int)(offset & SEGMENT_MASK));
+        } finally {
+            end();
+        }
+    }
+
+    /**
+     * Writes a byte at the given offset.
+     *
+     * @param  offset
+     *         The offset within this region
+     *
+     * @param  b
+     *         The byte to be written
+     *
+     * @return  This region
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this region
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this region is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this region has been unmapped
+     */
+    public MappedRegion put(long offset, byte b) {
+        checkIndex(offset, 1L);
+        ByteBuffer[] segs = begin();
+        try {
+            segs[(int)(offset >>> SEGMENT_SHIFT)]
+                .put((int)(offset & SEGMENT_MASK), b);
+        } finally {
+            end();
+        }
+        return this;
+    }
+
+    /**
+     * Reads the int at the given offset, in this region's byte order.
+     *
+     * @param  offset
+     *         The offset within this region
+     *
+     * @return  The int value at the given offset
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this region minus three
+     *
+     * @throws  IllegalStateException
+     *          If this region has been unmapped
+     */
+    public int getInt(long offset) {
+        return (int)getValue(offset, 4);
+    }
+
+    /**
+     * Writes an int at the given offset, in this region's byte order.
+     *
+     * @param  offset
+     *         The offset within this region
+     *
+     * @param  value
+     *         The int value to be written
+     *
+     * @return  This region
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this region minus three
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this region is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this region has been unmapped
+     */
+    public MappedRegion putInt(long offset, int value) {
+        putValue(offset, 4, value);
+        return this;
+    }
+
+    /**
+     * Reads the long at the given offset, in this region's byte order.
+     *
+     * @param  offset
+     *         The offset within this region
+     *
+     * @return  The long value at the given offset
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this region minus seven
+     *
+     * @throws  IllegalStateException
+     *          If this region has been unmapped
+     */
+    public long getLong(long offset) {
+        return getValue(offset, 8);
+    }
+
+    /**
+     * Writes a long at the given offset, in this region's byte order.
+     *
+     * @param  offset
+     *         The offset within this region
+     *
+     * @param  value
+     *         The long value to be written
+     *
+     * @return  This region
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this region minus seven
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this region is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this region has been unmapped
+     */
+    public MappedRegion putLong(long offset, long value) {
+        putValue(offset, 8, value);
+        return this;
+    }
+
+    private long getValue(long offset, int n) {
+        checkIndex(offset, n);
+        ByteBuffer[] segs = begin();
+        try {
+            ByteBuffer seg = segs[(int)(offset >>> SEGMENT_SHIFT)];
+            int i = (int)(offset & SEGMENT_MASK);
+            ByteOrder bo = order;
+            if (i <= seg.capacity() - n) // common case: within one segment
+                return (n == 4) ? seg.getInt(i) : seg.getLong(i);
+            long v = 0L;
+            for (int k = 0; k < n; k++) {
+                long b = getByte(segs, offset + k) & 0xffL;
+                v |= (bo == ByteOrder.BIG_ENDIAN) ? b << ((n - 1 - k) << 3)
+                                                 : b << (k << 3);
+            }
+            return v;
+        } finally {
+            end();
+        }
+    }
+
+    private void putValue(long offset, int n, long v) {
+        checkIndex(offset, n);
+        ByteBuffer[] segs = begin();
+        try {
+            ByteBuffer seg = segs[(int)(offset >>> SEGMENT_SHIFT)];
+            int i = (int)(offset & SEGMENT_MASK);
+            ByteOrder bo = order;
+            if (i <= seg.capacity() - n) {
+                if (n == 4)
+                    seg.putInt(i, (int)v);
+                else
+                    seg.putLong(i, v);
+                return;
+            }
+            if (readOnly)
+                throw new ReadOnlyBufferException();
+            for (int k = 0; k < n; k++) {
+                int shift = (bo == ByteOrder.BIG_ENDIAN) ? (n - 1 - k) << 3
+                                                         : k << 3;
+                segs[(int)((offset + k) >>> SEGMENT_SHIFT)]
+                    .put((int)((offset + k) & SEGMENT_MASK), (byte)(v >> shift));
+            }
+        } finally {
+            end();
+        }
+    }
+
+    private static byte getByte(ByteBuffer[] segs, long offset) {
+        return segs[(int)(offset >>> SEGMENT_SHIFT)]
+            .get((int)(offset & SEGMENT_MASK));
+    }
+
+    // -- Bulk access --
+
+    /**
+     * Reads bytes starting at the given offset into an array.
+     *
+     * @param  offset
+     *         The offset within this region of the first byte to be read
+     *
+     * @param  dst
+     *         The array into which bytes are to be written
+     *
+     * @param  off
+     *         The offset within the array of the first byte to be written
+     *
+     * @param  len
+     *         The number of bytes to be read
+     *
+     * @return  This region
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the preconditions on the offsets and length do not hold
+     *
+     * @throws  IllegalStateException
+     *          If this region has been unmapped
+     */
+    public MappedRegion get(long offset, byte[] dst, int off, int len) {
+        checkBounds(off, len, dst.length);
+        checkIndex(offset, len);
+        ByteBuffer[] segs = begin();
+        try {
+            while (len > 0) {
+                ByteBuffer seg = segs[(int)(offset >>> SEGMENT_SHIFT)];
+                int i = (int)(offset & SEGMENT_MASK);
+                int n = Math.min(len, seg.capacity() - i);
+                ByteBuffer bb = seg.duplicate();
+                bb.position(i);
+                bb.get(dst, off, n);
+                offset += n;
+                off += n;
+                len -= n;
+            }
+        } finally {
+            end();
+        }
+        return this;
+    }
+
+    /**
+     * Writes bytes from an array starting at the given offset.
+     *
+     * @param  offset
+     *         The offset within this region of the first byte to be written
+     *
+     * @param  src
+     *         The array from which bytes are to be read
+     *
+     * @param  off
+     *         The offset within the array of the first byte to be read
+     *
+     * @param  len
+     *         The number of bytes to be written
+     *
+     * @return  This region
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the preconditions on the offsets and length do not hold
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this region is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this region has been unmapped
+     */
+    public MappedRegion put(long offset, byte[] src, int off, int len) {
+        checkBounds(off, len, src.length);
+        checkIndex(offset, len);
+        if (readOnly)
+            throw new ReadOnlyBufferException();
+        ByteBuffer[] segs = begin();
+        try {
+            while (len > 0) {
+                ByteBuffer seg = segs[(int)(offset >>> SEGMENT_SHIFT)];
+                int i = (int)(offset & SEGMENT_MASK);
+                int n = Math.min(len, seg.capacity() - i);
+                ByteBuffer bb = seg.duplicate();
+                bb.position(i);
+                bb.put(src, off, n);
+                offset += n;
+                off += n;
+                len -= n;
+            }
+        } finally {
+            end();
+        }
+        return this;
+    }
+
+    private static void checkBounds(int off, int len, int size) {
+        if ((off | len | (off + len) | (size - (off + len))) < 0)
+            throw new IndexOutOfBoundsException();
+    }
+
+    // -- Residency --
+
+    /**
+     * Loads this region's content into physical memory, as by {@link
+     * MappedByteBuffer#load MappedByteBuffer.load}.
+     *
+     * @return  This region
+     *
+     * @throws  IllegalStateException
+     *          If this region has been unmapped
+     */
+    public MappedRegion load() {
+        ByteBuffer[] segs = begin();
+        try {
+            for (ByteBuffer seg : segs)
+                ((MappedByteBuffer)seg).load();
+        } finally {
+            end();
+        }
+        return this;
+    }
+
+    /**
+     * Tells whether this region's content is likely to be resident in
+     * physical memory, as by {@link MappedByteBuffer#isLoaded
+     * MappedByteBuffer.isLoaded}.
+     *
+     * @return  {@code true} if it is likely that this region's content is
+     *          resident in physical memory
+     *
+     * @throws  IllegalStateException
+     *          If this region has been unmapped
+     */
+    public boolean isLoaded() {
+        ByteBuffer[] segs = begin();
+        try {
+            for (ByteBuffer seg : segs)
+                if (!((MappedByteBuffer)seg).isLoaded())
+                    return false;
+            return true;
+        } finally {
+            end();
+        }
+    }
+
+    /**
+     * Forces any changes made to this region's content to be written to
+     * the storage device containing the mapped file, as by {@link
+     * MappedByteBuffer#force MappedByteBuffer.force}.
+     *
+     * @return  This region
+     *
+     * @throws  IllegalStateException
+     *          If this region has been unmapped
+     */
+    public MappedRegion force() {
+        ByteBuffer[] segs = begin();
+        try {
+            for (ByteBuffer seg : segs)
+                ((MappedByteBuffer)seg).force();
+        } finally {
+            end();
+        }
+        return this;
+    }
+
+    /**
+     * Advises how a range of this region will be accessed.  Advice is a
+     * hint that may be ignored.
+     *
+     * <p> {@link Advice#WILLNEED WILLNEED} brings the pages of the given
+     * range into physical memory before returning.  The other kinds of
+     * advice are currently accepted and ignored.
+     *
+     * @param  advice
+     *         The kind of advice
+     *
+     * @param  offset
+     *         The offset within this region of the start of the range
+     *
+     * @param  length
+     *         The length of the range
+     *
+     * @return  This region
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the range does not lie within this region
+     *
+     * @throws  IllegalStateException
+     *          If this region has been unmapped
+     */
+    public MappedRegion advise(Advice advice, long offset, long length) {
+        Objects.requireNonNull(advice);
+        checkIndex(offset, length);
+        if (advice != Advice.WILLNEED)
+            return this;
+        ByteBuffer[] segs = begin();
+        try {
+            // Touch one byte in each page, as MappedByteBuffer.load does
+            long ps = Bits.pageSize();
+            long end = offset + length;
+            byte x = 0;
+            for (long o = offset; o < end; o += ps)
+                x ^= getByte(segs, o);
+            sink = x;
+        } finally {
+            end();
+        }
+        return this;
+    }
+
+    // Written only to keep the page-touching loop from being optimized away
+    private static volatile byte sink;
+
+    // -- Windows --
+
+    /**
+     * Returns a reader that maps the given channel's file one window at a
+     * time.
+     *
+     * @param  channel
+     *         The file channel, which must be open for reading
+     *
+     * @param  windowSize
+     *         The maximum size of each window; rounded up to an even number
+     *         of pages
+     *
+     * @return  A new window over the file
+     *
+     * @throws  IllegalArgumentException
+     *          If {@code windowSize} is not positive or greater than
+     *          {@link Integer#MAX_VALUE}
+     */
+    public static Window reader(FileChannel channel, long windowSize) {
+        Objects.requireNonNull(channel, "channel");
+        if (windowSize <= 0L || windowSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("windowSize: " + windowSize);
+        return new Window(channel, windowSize);
+    }
+
+    /**
+     * A read-only view of a file that maps a bounded window at a time.
+     *
+     * <p> Reading at a file position outside the current window maps a
+     * new window containing it and unmaps the old one, so that no more
+     * than one window of address space is in use at a time, however large
+     * the file.  Windows start at multiples of half the window size, so
+     * that values of up to half a window that straddle the start of a
+     * window can be read without remapping.  The file's size is
+     * re-examined whenever a window is mapped, so files that grow while
+     * being read, such as append-only logs, are followed as they grow.
+     *
+     * <p> When the advice given to a window is {@link Advice#SEQUENTIAL
+     * SEQUENTIAL} or {@link Advice#WILLNEED WILLNEED}, each new window is
+     * {@linkplain MappedRegion#load loaded} as soon as it is mapped.
+     *
+     * <p> Windows are not safe for use by multiple concurrent threads.
+     *
+     * @since 1.8
+     */
+    public static final class Window implements Closeable {
+        private final FileChannel channel;
+        private final long half;
+        private MappedRegion region;
+        private Advice advice = Advice.NORMAL;
+        private boolean closed;
+
+        Window(FileChannel channel, long windowSize) {
+            long ps = Bits.pageSize();
+            long h = ((windowSize + 2 * ps - 1) / (2 * ps)) * ps;
+            if (h > Integer.MAX_VALUE / 2)
+                h = (Integer.MAX_VALUE / 2) / ps * ps;
+            this.channel = channel;
+            this.half = h;
+        }
+
+        /**
+         * Returns the region mapping {@code [pos, pos + n)}, remapping if
+         * necessary.
+         */
+        private MappedRegion window(long pos, int n) throws IOException {
+            if (closed)
+                throw new IllegalStateException("Window closed");
+            if (pos < 0L)
+                throw new IndexOutOfBoundsException("position " + pos);
+            MappedRegion r = region;
+            if (r != null && pos >= r.position
+                && pos + n <= r.position + r.size)
+                return r;
+            long start = pos - pos % half;
+            long fileSize = channel.size();
+            if (pos + n > fileSize)
+                throw new IndexOutOfBoundsException("position " + pos +
+                                                    ", length " + n +
+                                                    ", file size " + fileSize);
+            if (r != null) {
+                region = null;
+                r.unmap();
+            }
+            r = MappedRegion.map(channel, FileChannel.MapMode.READ_ONLY, start,
+                                 Math.min(2 * half, fileSize - start));
+            if (advice == Advice.SEQUENTIAL || advice == Advice.WILLNEED)
+                r.load();
+            return region = r;
+        }
+
+        /**
+         * Reads the byte at the given file position.
+         *
+         * @param  pos
+         *         The file position
+         *
+         * @return  The byte at the given position
+         *
+         * @throws  IndexOutOfBoundsException
+         *          If {@code pos} is negative or not smaller than the
+         *          file's current size
+         *
+         * @throws  IllegalStateException
+         *          If this window has been closed
+         *
+         * @throws  IOException
+         *          If an I/O error occurs while mapping the file
+         */
+        public byte get(long pos) throws IOException {
+            MappedRegion r = window(pos, 1);
+            return r.get(pos - r.position);
+        }
+
+        /**
+         * Reads the int at the given file position, in big-endian order.
+         *
+         * @param  pos
+         *         The file position
+         *
+         * @return  The int value at the given position
+         *
+         * @throws  IndexOutOfBoundsException
+         *          If {@code pos} is negative or not smaller than the
+         *          file's current size minus three
+         *
+         * @throws  IllegalStateException
+         *          If this window has been closed
+         *
+         * @throws  IOException
+         *          If an I/O error occurs while mapping the file
+         */
+        public int getInt(long pos) throws IOException {
+            MappedRegion r = window(pos, 4);
+            return r.getInt(pos - r.position);
+        }
+
+        /**
+         * Reads the long at the given file position, in big-endian order.
+         *
+         * @param  pos
+         *         The file position
+         *
+         * @return  The long value at the given position
+         *
+         * @throws  IndexOutOfBoundsException
+         *          If {@code pos} is negative or not smaller than the
+         *          file's current size minus seven
+         *
+         * @throws  IllegalStateException
+         *          If this window has been closed
+         *
+         * @throws  IOException
+         *          If an I/O error occurs while mapping the file
+         */
+        public long getLong(long pos) throws IOException {
+            MappedRegion r = window(pos, 8);
+            return r.getLong(pos - r.position);
+        }
+
+        /**
+         * Reads bytes starting at the given file position into an array,
+         * moving the window as many times as necessary.
+         *
+         * @param  pos
+         *         The file position of the first byte to be read
+         *
+         * @param  dst
+         *         The array into which bytes are to be written
+         *
+         * @param  off
+         *         The offset within the array of the first byte to be written
+         *
+         * @param  len
+         *         The number of bytes to be read
+         *
+         * @throws  IndexOutOfBoundsException
+         *          If the preconditions on the offsets and length do not
+         *          hold, or if the range extends beyond the file's current
+         *          size
+         *
+         * @throws  IllegalStateException
+         *          If this window has been closed
+         *
+         * @throws  IOException
+         *          If an I/O error occurs while mapping the file
+         */
+        public void get(long pos, byte[] dst, int off, int len)
+            throws IOException
+        {
+            checkBounds(off, len, dst.length);
+            while (len > 0) {
+                MappedRegion r = window(pos, 1);
+                int n = (int)Math.min(len, r.position + r.size - pos);
+                r.get(pos - r.position, dst, off, n);
+                pos += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        /**
+         * Sets the access advice for this window.
+         *
+         * @param  advice
+         *         The kind of advice
+         *
+         * @return  This window
+         */
+        public Window advise(Advice advice) {
+            this.advice = Objects.requireNonNull(advice);
+            return this;
+        }
+
+        /**
+         * Unmaps the current window, if any.  The next read maps a new one.
+         */
+        public void release() {
+            MappedRegion r = region;
+            if (r != null) {
+                region = null;
+                r.unmap();
+            }
+        }
+
+        /**
+         * Closes this window, unmapping the current window.  The channel
+         * is not closed.
+         */
+        public void close() {
+            closed = true;
+            release();
+        }
+    }
+}
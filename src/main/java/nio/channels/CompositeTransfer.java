@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.nio.channels;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteBufferPool;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A sequence of byte buffers and file regions to be written to a channel
+ * as a unit, such as the header and body of a response.
+ *
+ * <p> A composite transfer is built by {@linkplain #add(ByteBuffer) adding}
+ * buffers and {@linkplain #add(FileChannel,long,long) file regions} in the
+ * order in which they are to be written, and is then written by one or
+ * more invocations of {@link #writeTo writeTo}.  Each invocation writes
+ * as much of the remaining content as the target channel accepts, so a
+ * transfer may be driven to completion over a non-blocking channel by
+ * writing again whenever the channel is ready.
+ *
+ * <p> Runs of consecutive buffers are written with a single gathering
+ * write when the target is a {@link GatheringByteChannel}.  Small file
+ * regions are read into a pooled direct buffer and included in the same
+ * gathering write, so that a header followed by a small body costs one
+ * write to the target.  Larger file regions are written with {@link
+ * FileChannel#transferTo FileChannel.transferTo}, which lets the
+ * operating system send file data to a socket without copying it through
+ * user space where that is supported.
+ *
+ * <p> Buffers added to a transfer are consumed as they are written: their
+ * positions are advanced but their limits are not changed.  They must not
+ * be modified until the transfer has been completely written.  File
+ * regions must lie within their files when they are written; the files'
+ * positions are not changed.
+ *
+ * <p> Composite transfers are not safe for use by multiple concurrent
+ * threads.
+ *
+ * @see FileChannel#transferTo
+ * @see GatheringByteChannel
+ * @since 1.8
+ */
+public final class CompositeTransfer {
+
+    /**
+     * File regions no larger than this are copied into a buffer and
+     * gathered with their neighbours rather than transferred separately.
+     */
+    private static final int COPY_THRESHOLD = 64 * 1024;
+
+    /**
+     * The maximum number of buffers in one gathering write.
+     */
+    private static final int MAX_GATHER = 16;
+
+    private static final ByteBufferPool POOL =
+        new ByteBufferPool("CompositeTransfer", COPY_THRESHOLD, 4L << 20);
+
+    /**
+     * A buffer, or a region of a file that has not yet been read into one.
+     */
+    private static final class Part {
+        ByteBuffer buf;
+        FileChannel file;
+        long position;
+        long count;
+        boolean pooled;
+
+        Part(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        Part(FileChannel file, long position, long count) {
+            this.file = file;
+            this.position = position;
+            this.count = count;
+        }
+
+        long remaining() {
+            return (file != null) ? count : buf.remaining();
+        }
+    }
+
+    private final List<Part> parts = new ArrayList<>();
+    private int next;   // index of the first part not completely written
+
+    /**
+     * Creates an empty composite transfer.
+     */
+    public CompositeTransfer() { }
+
+    /**
+     * Appends the remaining bytes of a buffer to this transfer.
+     *
+     * @param  src
+     *         The buffer
+     *
+     * @return  This transfer
+     */
+    public CompositeTransfer add(ByteBuffer src) {
+        Objects.requireNonNull(src, "src");
+        parts.add(new Part(src));
+        return this;
+    }
+
+    /**
+     * Appends a region of a file to this transfer.
+     *
+     * @param  file
+     *         The file channel, which must be open for reading
+     *
+     * @param  position
+     *         The position within the file of the first byte to be written;
+     *         must be non-negative
+     *
+     * @param  count
+     *         The number of bytes to be written; must be non-negative
+     *
+     * @return  This transfer
+     *
+     * @throws  IllegalArgumentException
+     *          If the preconditions on the parameters do not hold
+     */
+    public CompositeTransfer add(FileChannel file, long position, long count) {
+        Objects.requireNonNull(file, "file");
+        if (position < 0L || count < 0L)
+            throw new IllegalArgumentException();
+        if (count > 0L)
+            parts.add(new Part(file, position, count));
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes that remain to be written.
+     *
+     * @return  The number of bytes remaining
+     */
+    public long remaining() {
+        long n = 0L;
+        for (int i = next; i < parts.size(); i++)
+            n += parts.get(i).remaining();
+        return n;
+    }
+
+    /**
+     * Tells whether any bytes remain to be written.
+     *
+     * @return  {@code true} if, and only if, some bytes remain
+     */
+    public boolean hasRemaining() {
+        for (int i = next; i < parts.size(); i++)
+            if (parts.get(i).remaining() > 0L)
+                return true;
+        return false;
+    }
+
+    /**
+     * Writes as much of the remaining content of this transfer as possible
+     * to the given channel.
+     *
+     * <p> If the channel is in blocking mode then this method returns when
+     * all of the content has been written.  Otherwise it returns as soon as
+     * the channel accepts fewer bytes than were offered, and may be invoked
+     * again later to continue the transfer.
+     *
+     * @param  target
+     *         The target channel
+     *
+     * @return  The number of bytes written by this invocation, possibly zero
+     *
+     * @throws  EOFException
+     *          If a file region extends beyond the end of its file
+     *
+     * @throws  IOException
+     *          If some other I/O error occurs while reading a file or
+     *          writing to the target
+     */
+    public long writeTo(WritableByteChannel target) throws IOException {
+        Objects.requireNonNull(target, "target");
+        boolean nonBlocking = (target instanceof SelectableChannel)
+            && !((SelectableChannel)target).isBlocking();
+        long written = 0L;
+        while (next < parts.size()) {
+            Part p = parts.get(next);
+            if (p.file != null && p.count > COPY_THRESHOLD) {
+                long n = p.file.transferTo(p.position, p.count, target);
+                if (n == 0L && p.position >= p.file.size())
+                    throw new EOFException("File region extends beyond end of file");
+                p.position += n;
+                p.count -= n;
+                written += n;
+                if (p.count == 0L)
+                    next++;
+                else if (nonBlocking)
+                    break;
+            } else {
+                int end = gather();
+                int size = end - next;
+                ByteBuffer[] bufs = new ByteBuffer[size];
+                long offered = 0L;
+                for (int i = 0; i < size; i++) {
+                    bufs[i] = parts.get(next + i).buf;
+                    offered += bufs[i].remaining();
+                }
+                long n = write(target, bufs);
+                written += n;
+                while (next < end && !parts.get(next).buf.hasRemaining())
+                    release(parts.get(next++));
+                if (n < offered && nonBlocking)
+                    break;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Prepares the run of parts starting at {@code next} for a gathering
+     * write, reading small file regions into pooled buffers, and returns
+     * the index just past the run.
+     */
+    private int gather() throws IOException {
+        int end = next;
+        while (end < parts.size() && end - next < MAX_GATHER) {
+            Part p = parts.get(end);
+            if (p.file != null) {
+                if (p.count > COPY_THRESHOLD)
+                    break;
+                ByteBuffer bb = POOL.acquire((int)p.count);
+                boolean filled = false;
+                try {
+                    long pos = p.position;
+                    while (bb.hasRemaining()) {
+                        int n = p.file.read(bb, pos);
+                        if (n < 0)
+                            throw new EOFException("File region extends beyond end of file");
+                        pos += n;
+                    }
+                    filled = true;
+                } finally {
+                    if (!filled)
+                        POOL.release(bb);
+                }
+                bb.flip();
+                p.buf = bb;
+                p.file = null;
+                p.pooled = true;
+            }
+            end++;
+        }
+        return end;
+    }
+
+    private static long write(WritableByteChannel target, ByteBuffer[] bufs)
+        throws IOException
+    {
+        if (bufs.length > 1 && target instanceof GatheringByteChannel)
+            return ((GatheringByteChannel)target).write(bufs);
+        long n = 0L;
+        for (ByteBuffer bb : bufs) {
+            int r = bb.remaining();
+            int w = target.write(bb);
+            n += w;
+            if (w < r)
+                break;
+        }
+        return n;
+    }
+
+    private static void release(Part p) {
+        if (p.pooled) {
+            p.pooled = false;
+            POOL.release(p.buf);
+        }
+    }
+
+    /**
+     * Releases any pooled buffers held by this transfer and discards its
+     * remaining content.  This method should be invoked if a transfer is
+     * abandoned before it has been completely written.
+     */
+    public void discard() {
+        for (int i = next; i < parts.size(); i++)
+            release(parts.get(i));
+        parts.clear();
+        next = 0;
+    }
+}
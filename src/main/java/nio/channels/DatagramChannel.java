@@ -517,6 +517,145 @@ public abstract class DatagramChannel
     public abstract int send(ByteBuffer src, SocketAddress target)
         throws IOException;
 
+    /**
+     * Receives a batch of datagrams via this channel.
+     *
+     * <p> Datagrams are received into the given buffers in turn, one
+     * datagram per buffer, exactly as if by {@link #receive(ByteBuffer)
+     * receive}, and the source address of each is stored in the element of
+     * {@code senders} with the same index.  If this channel is in
+     * non-blocking mode then this method receives datagrams until it has
+     * filled every buffer or no more datagrams are immediately available.
+     * If this channel is in blocking mode then this method waits for the
+     * first datagram and returns once it has received it, as it cannot
+     * tell whether another one is available without waiting.  The batch
+     * form is thus mostly of use with a non-blocking channel that a
+     * {@link Selector} has found to be readable.
+     *
+     * <p> The implementation of this method in this class invokes {@code
+     * receive} once per datagram; implementations that can receive several
+     * datagrams in a single operation should override it.  </p>
+     *
+     * @param  dsts
+     *         The buffers into which datagrams are to be transferred
+     *
+     * @param  senders
+     *         The array in which the datagrams' source addresses are to be
+     *         stored, or {@code null} if they are not wanted
+     *
+     * @return  The number of datagrams received, which is the number of
+     *          buffers filled, possibly zero if this channel is in
+     *          non-blocking mode and no datagram was immediately available
+     *
+     * @throws  IllegalArgumentException
+     *          If {@code senders} is shorter than {@code dsts}
+     *
+     * @throws  ClosedChannelException
+     *          If this channel is closed
+     *
+     * @throws  AsynchronousCloseException
+     *          If another thread closes this channel
+     *          while the read operation is in progress
+     *
+     * @throws  ClosedByInterruptException
+     *          If another thread interrupts the current thread
+     *          while the read operation is in progress, thereby
+     *          closing the channel and setting the current thread's
+     *          interrupt status
+     *
+     * @throws  SecurityException
+     *          If a security manager has been installed
+     *          and it does not permit datagrams to be accepted
+     *          from the datagrams' senders
+     *
+     * @throws  IOException
+     *          If some other I/O error occurs
+     *
+     * @since 1.8
+     */
+    public int receive(ByteBuffer[] dsts, SocketAddress[] senders)
+        throws IOException
+    {
+        if (senders != null && senders.length < dsts.length)
+            throw new IllegalArgumentException("senders too short");
+        boolean blocking = isBlocking();
+        int n = 0;
+        while (n < dsts.length) {
+            SocketAddress sender = receive(dsts[n]);
+            if (sender == null)
+                break;
+            if (senders != null)
+                senders[n] = sender;
+            n++;
+            if (blocking)
+                break;
+        }
+        return n;
+    }
+
+    /**
+     * Sends a batch of datagrams via this channel.
+     *
+     * <p> The remaining bytes of each buffer are sent as one datagram, exactly
+     * as if by {@link #send(ByteBuffer, SocketAddress) send}, to the
+     * element of {@code targets} with the same index.  If this channel is
+     * in non-blocking mode then this method stops at the first datagram for
+     * which there is insufficient room in the underlying output buffer;
+     * that datagram is not sent and its buffer is left unchanged.
+     *
+     * <p> The implementation of this method in this class invokes {@code
+     * send} once per datagram; implementations that can send several
+     * datagrams in a single operation should override it.  </p>
+     *
+     * @param  srcs
+     *         The buffers containing the datagrams to be sent
+     *
+     * @param  targets
+     *         The addresses to which the datagrams are to be sent
+     *
+     * @return  The number of datagrams sent
+     *
+     * @throws  IllegalArgumentException
+     *          If {@code targets} is shorter than {@code srcs}
+     *
+     * @throws  ClosedChannelException
+     *          If this channel is closed
+     *
+     * @throws  AsynchronousCloseException
+     *          If another thread closes this channel
+     *          while the write operation is in progress
+     *
+     * @throws  ClosedByInterruptException
+     *          If another thread interrupts the current thread
+     *          while the write operation is in progress, thereby
+     *          closing the channel and setting the current thread's
+     *          interrupt status
+     *
+     * @throws  SecurityException
+     *          If a security manager has been installed
+     *          and it does not permit datagrams to be sent
+     *          to the given addresses
+     *
+     * @throws  IOException
+     *          If some other I/O error occurs
+     *
+     * @since 1.8
+     */
+    public int send(ByteBuffer[] srcs, SocketAddress[] targets)
+        throws IOException
+    {
+        if (targets.length < srcs.length)
+            throw new IllegalArgumentException("targets too short");
+        int n = 0;
+        while (n < srcs.length) {
+            ByteBuffer src = srcs[n];
+            if (send(src, targets[n]) == 0 && src.hasRemaining())
+                break;
+            n++;
+        }
+        return n;
+    }
+
 
     // -- ByteChannel operations --
 
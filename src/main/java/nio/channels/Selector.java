@@ -28,7 +28,10 @@ package java.nio.channels;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.channels.spi.SelectorProvider;
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 
 
 /**
@@ -397,6 +400,159 @@ public abstract class Selector implements Closeable {
      */
     public abstract int select() throws IOException;
 
+    // Array reused by the selection operations that take an action, when
+    // not in use; guarded by actionKeysLock, which is never held while
+    // selecting or while running an action
+    private SelectionKey[] actionKeys;
+    private final Object actionKeysLock = new Object();
+
+    /**
+     * Selects and performs an action on the keys whose corresponding
+     * channels are ready for I/O operations.
+     *
+     * <p> This method performs a blocking <a href="#selop">selection
+     * operation</a>, as by {@link #select(long)}, except that the keys whose
+     * ready-operation sets were updated are passed to the given action
+     * instead of being left in the selected-key set.  The selected-key set
+     * is cleared before the selection operation, and is empty when this
+     * method returns.  The action is invoked by the selecting thread, once
+     * for each key, after the selection operation has completed and this
+     * selector's lock and that of its selected-key set have been released.
+     * The action may therefore modify a key's interest set, cancel it,
+     * register channels, or select again.  Because the action runs outside
+     * the selector's lock, a key passed to it may meanwhile have been
+     * cancelled by another thread.
+     *
+     * <p> Unlike iterating over the {@link #selectedKeys() selected-key
+     * set}, dispatching keys through an action does not require the caller
+     * to allocate an iterator or remove keys one at a time.  </p>
+     *
+     * @param  action   The action to perform
+     *
+     * @param  timeout  If positive, block for up to {@code timeout}
+     *                  milliseconds, more or less, while waiting for a
+     *                  channel to become ready; if zero, block indefinitely;
+     *                  must not be negative
+     *
+     * @return  The number of keys on which the action was performed
+     *
+     * @throws  IOException
+     *          If an I/O error occurs
+     *
+     * @throws  ClosedSelectorException
+     *          If this selector is closed or is closed by the action
+     *
+     * @throws  IllegalArgumentException
+     *          If the value of the timeout argument is negative
+     *
+     * @since 1.8
+     */
+    public int select(Consumer<SelectionKey> action, long timeout)
+        throws IOException
+    {
+        if (timeout < 0)
+            throw new IllegalArgumentException("Negative timeout");
+        return doSelect(Objects.requireNonNull(action), timeout);
+    }
+
+    /**
+     * Selects and performs an action on the keys whose corresponding
+     * channels are ready for I/O operations.
+     *
+     * <p> This method performs a blocking <a href="#selop">selection
+     * operation</a>, as by {@link #select()}, and passes the keys whose
+     * ready-operation sets were updated to the given action, as described
+     * by {@link #select(Consumer,long)}.  </p>
+     *
+     * @param  action   The action to perform
+     *
+     * @return  The number of keys on which the action was performed
+     *
+     * @throws  IOException
+     *          If an I/O error occurs
+     *
+     * @throws  ClosedSelectorException
+     *          If this selector is closed or is closed by the action
+     *
+     * @since 1.8
+     */
+    public int select(Consumer<SelectionKey> action) throws IOException {
+        return select(action, 0);
+    }
+
+    /**
+     * Selects and performs an action on the keys whose corresponding
+     * channels are ready for I/O operations.
+     *
+     * <p> This method performs a non-blocking <a href="#selop">selection
+     * operation</a>, as by {@link #selectNow()}, and passes the keys whose
+     * ready-operation sets were updated to the given action, as described
+     * by {@link #select(Consumer,long)}.  </p>
+     *
+     * @param  action   The action to perform
+     *
+     * @return  The number of keys on which the action was performed
+     *
+     * @throws  IOException
+     *          If an I/O error occurs
+     *
+     * @throws  ClosedSelectorException
+     *          If this selector is closed or is closed by the action
+     *
+     * @since 1.8
+     */
+    public int selectNow(Consumer<SelectionKey> action) throws IOException {
+        return doSelect(Objects.requireNonNull(action), -1);
+    }
+
+    /**
+     * Performs a selection operation, blocking for up to the given timeout
+     * unless it is negative, and passes the selected keys to the action.
+     */
+    private int doSelect(Consumer<SelectionKey> action, long timeout)
+        throws IOException
+    {
+        SelectionKey[] keys;
+        synchronized (actionKeysLock) {
+            keys = actionKeys;
+            actionKeys = null;
+        }
+        if (keys == null)
+            keys = new SelectionKey[16];
+        int n = 0;
+        try {
+            synchronized (this) {
+                Set<SelectionKey> selectedKeys = selectedKeys();
+                synchronized (selectedKeys) {
+                    selectedKeys.clear();
+                    if (timeout < 0)
+                        selectNow();
+                    else
+                        select(timeout);
+                    n = selectedKeys.size();
+                    if (keys.length < n)
+                        keys = new SelectionKey[Math.max(n, keys.length * 2)];
+                    selectedKeys.toArray(keys);
+                    selectedKeys.clear();
+                }
+            }
+            // Run the actions with no locks held, so that they may select,
+            // register or wake up this selector from this thread or others
+            for (int i = 0; i < n; i++) {
+                action.accept(keys[i]);
+                if (!isOpen())
+                    throw new ClosedSelectorException();
+            }
+            return n;
+        } finally {
+            Arrays.fill(keys, 0, n, null);
+            synchronized (actionKeysLock) {
+                if (actionKeys == null || actionKeys.length < keys.length)
+                    actionKeys = keys;
+            }
+        }
+    }
+
     /**
      * Causes the first selection operation that has not yet returned to return
      * immediately.
@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.nio.channels;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A group of selectors, each driven by its own event-loop thread, across
+ * which channel registrations are spread.
+ *
+ * <p> A single {@link Selector} and the thread that selects on it limit
+ * the rate at which ready channels can be dispatched.  A selector group
+ * removes that limit by running several independent event loops and
+ * assigning each {@linkplain #register registered} channel to one of
+ * them, in round-robin order.  A channel stays with its loop for as long
+ * as it is registered, and its handler is always invoked by that loop's
+ * thread.
+ *
+ * <p> Registrations and {@linkplain #interestOps interest set} changes
+ * requested by other threads are handed to the owning loop through a
+ * lock-free queue and applied by the loop itself, so callers never block
+ * on a selector's key sets.  A loop's selector is woken up at most once
+ * for any number of requests queued while it is selecting, and
+ * successive interest set changes to the same key before the loop runs
+ * are coalesced into one.
+ *
+ * <p> The {@linkplain SelectionKey#attachment attachment} of a key
+ * registered through a group is used by the group and must not be
+ * replaced.
+ *
+ * <p> Selector groups are safe for use by multiple concurrent threads.
+ *
+ * @see Selector
+ * @since 1.8
+ */
+public final class SelectorGroup implements Closeable {
+
+    private static final AtomicInteger groupNumber = new AtomicInteger(1);
+
+    private final EventLoop[] loops;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private volatile boolean closed;
+
+    private SelectorGroup(int n, ThreadFactory factory) throws IOException {
+        loops = new EventLoop[n];
+        try {
+            for (int i = 0; i < n; i++)
+                loops[i] = new EventLoop(Selector.open());
+        } catch (IOException x) {
+            for (EventLoop l : loops)
+                if (l != null)
+                    l.selector.close();
+            throw x;
+        }
+        for (EventLoop l : loops) {
+            Thread t = factory.newThread(l);
+            if (t == null)
+                throw new IllegalStateException("Thread factory returned null");
+            l.thread = t;
+        }
+        for (EventLoop l : loops)
+            l.thread.start();
+    }
+
+    /**
+     * Opens a selector group with the given number of event loops, each
+     * run by a daemon thread.
+     *
+     * @param  nLoops
+     *         The number of event loops, typically the number of available
+     *         processors
+     *
+     * @return  A new selector group
+     *
+     * @throws  IllegalArgumentException
+     *          If {@code nLoops} is not positive
+     *
+     * @throws  IOException
+     *          If an I/O error occurs while opening a selector
+     */
+    public static SelectorGroup open(int nLoops) throws IOException {
+        int g = groupNumber.getAndIncrement();
+        AtomicInteger loop = new AtomicInteger();
+        return open(nLoops, r -> {
+            Thread t = new Thread(r, "SelectorGroup-" + g + "-loop-" +
+                                  loop.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Opens a selector group with the given number of event loops, each
+     * run by a thread obtained from the given factory.
+     *
+     * @param  nLoops
+     *         The number of event loops
+     *
+     * @param  factory
+     *         The factory used to create the event-loop threads
+     *
+     * @return  A new selector group
+     *
+     * @throws  IllegalArgumentException
+     *          If {@code nLoops} is not positive
+     *
+     * @throws  IOException
+     *          If an I/O error occurs while opening a selector
+     */
+    public static SelectorGroup open(int nLoops, ThreadFactory factory)
+        throws IOException
+    {
+        Objects.requireNonNull(factory, "factory");
+        if (nLoops <= 0)
+            throw new IllegalArgumentException("nLoops: " + nLoops);
+        return new SelectorGroup(nLoops, factory);
+    }
+
+    /**
+     * Returns the number of event loops in this group.
+     *
+     * @return  The number of event loops
+     */
+    public int size() {
+        return loops.length;
+    }
+
+    /**
+     * Registers a channel with one of this group's selectors.
+     *
+     * <p> The channel is placed in non-blocking mode and registered, by the
+     * event loop it is assigned to, with the given interest set.  Whenever
+     * the channel's key is selected, that loop invokes the handler with the
+     * key.  If the handler throws an exception, the key is cancelled and
+     * the channel is closed.
+     *
+     * @param  ch
+     *         The channel to be registered
+     *
+     * @param  ops
+     *         The interest set for the resulting key
+     *
+     * @param  handler
+     *         The handler to invoke when the key is selected
+     *
+     * @return  A future that is completed with the channel's key once it
+     *          has been registered, or exceptionally if registration fails;
+     *          it fails with {@code ClosedSelectorException} if the group is
+     *          closed, or its event loop stops, before the channel is
+     *          registered
+     *
+     * @throws  ClosedSelectorException
+     *          If this group has been closed
+     *
+     * @throws  IllegalArgumentException
+     *          If a bit in {@code ops} does not correspond to an operation
+     *          supported by the channel
+     *
+     * @throws  IOException
+     *          If an I/O error occurs while configuring the channel
+     */
+    public CompletableFuture<SelectionKey> register(SelectableChannel ch,
+                                                    int ops,
+                                                    Consumer<SelectionKey> handler)
+        throws IOException
+    {
+        Objects.requireNonNull(handler, "handler");
+        if (closed)
+            throw new ClosedSelectorException();
+        if ((ops & ~ch.validOps()) != 0)
+            throw new IllegalArgumentException();
+        ch.configureBlocking(false);
+        EventLoop l = loops[(nextLoop.getAndIncrement() & Integer.MAX_VALUE)
+                            % loops.length];
+        Registration r = new Registration(l, handler);
+        CompletableFuture<SelectionKey> f = new CompletableFuture<>();
+        l.submit(() -> {
+            try {
+                SelectionKey k = ch.register(l.selector, ops, r);
+                r.key = k;
+                f.complete(k);
+            } catch (Throwable x) {
+                f.completeExceptionally(x);
+            }
+        });
+        return f;
+    }
+
+    /**
+     * Sets the interest set of a key registered through this group.
+     *
+     * <p> If invoked by the key's event-loop thread, for example from a
+     * handler, the interest set is changed immediately.  Otherwise the
+     * change is queued and applied by the event loop before it next
+     * selects; if several changes are queued for the same key, only the
+     * last is applied.
+     *
+     * @param  key
+     *         A key registered through this group
+     *
+     * @param  ops
+     *         The new interest set
+     *
+     * @throws  IllegalArgumentException
+     *          If the key was not registered through this group, or if a
+     *          bit in {@code ops} does not correspond to an operation
+     *          supported by the key's channel
+     */
+    public void interestOps(SelectionKey key, int ops) {
+        Object att = key.attachment();
+        if (!(att instanceof Registration)
+            || ((Registration)att).loop.group() != this)
+            throw new IllegalArgumentException("Key not registered with this group");
+        if ((ops & ~key.channel().validOps()) != 0)
+            throw new IllegalArgumentException();
+        Registration r = (Registration)att;
+        if (Thread.currentThread() == r.loop.thread) {
+            if (key.isValid())
+                key.interestOps(ops);
+            return;
+        }
+        r.pendingOps = ops;
+        if (r.queued.compareAndSet(false, true))
+            r.loop.submit(r);
+    }
+
+    /**
+     * Closes this group.  Each event loop finishes dispatching the keys it
+     * is handling, then closes its selector, which deregisters its
+     * channels.  The channels themselves are not closed.  Invoking this
+     * method on a group that is already closed has no effect.
+     */
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        for (EventLoop l : loops)
+            l.selector.wakeup();
+    }
+
+    /**
+     * Tells whether this group is open.
+     *
+     * @return  {@code true} if, and only if, this group is open
+     */
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    /**
+     * The group's state for a registered key.  It is also the task that
+     * applies a queued interest set change.
+     */
+    private static final class Registration implements Runnable {
+        final EventLoop loop;
+        final Consumer<SelectionKey> handler;
+        final AtomicBoolean queued = new AtomicBoolean();
+        volatile int pendingOps;
+        SelectionKey key;   // accessed only by the loop thread
+
+        Registration(EventLoop loop, Consumer<SelectionKey> handler) {
+            this.loop = loop;
+            this.handler = handler;
+        }
+
+        public void run() {
+            queued.set(false);
+            SelectionKey k = key;
+            if (k != null && k.isValid())
+                k.interestOps(pendingOps);
+        }
+    }
+
+    private final class EventLoop implements Runnable {
+        final Selector selector;
+        final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean wakeupPending = new AtomicBoolean();
+        final Consumer<SelectionKey> dispatcher = this::dispatch;
+        volatile Thread thread;
+        volatile boolean terminated;    // selector closed, tasks draining
+
+        EventLoop(Selector selector) {
+            this.selector = selector;
+        }
+
+        SelectorGroup group() {
+            return SelectorGroup.this;
+        }
+
+        /**
+         * Queues a task for this loop, waking its selector only if no
+         * wakeup is already pending.  If the loop has terminated, the
+         * queue is drained here instead, so that the task still runs and
+         * fails against the closed selector.
+         */
+        void submit(Runnable task) {
+            tasks.offer(task);
+            if (terminated)
+                drain();
+            else if (wakeupPending.compareAndSet(false, true))
+                selector.wakeup();
+        }
+
+        private void drain() {
+            Runnable task;
+            while ((task = tasks.poll()) != null)
+                task.run();
+        }
+
+        public void run() {
+            try {
+                while (!closed) {
+                    wakeupPending.set(false);
+                    drain();
+                    if (closed)
+                        break;
+                    selector.select(dispatcher);
+                }
+            } catch (IOException | ClosedSelectorException x) {
+                // selector failed or was closed; fall through and clean up
+            } finally {
+                try {
+                    selector.close();
+                } catch (IOException ignore) { }
+                // Fail any registrations still queued; later submitters
+                // see terminated and drain their own tasks
+                terminated = true;
+                drain();
+            }
+        }
+
+        private void dispatch(SelectionKey k) {
+            if (!k.isValid())
+                return;
+            try {
+                ((Registration)k.attachment()).handler.accept(k);
+            } catch (RuntimeException x) {
+                k.cancel();
+                try {
+                    k.channel().close();
+                } catch (IOException ignore) { }
+            }
+        }
+    }
+}
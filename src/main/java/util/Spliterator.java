@@ -654,6 +654,30 @@ public interface Spliterator<T> {
             do { } while (tryAdvance(action));
         }
 
+        /**
+         * If remaining elements exist, copies up to {@code buffer.length} of
+         * them into {@code buffer}, starting at index 0 and in encounter order
+         * if this Spliterator is {@link #ORDERED}, and advances past the
+         * copied elements.  Callers such as stream pipelines may use this to
+         * process elements a chunk at a time in a tight loop, rather than
+         * through one {@code IntConsumer} invocation per element.
+         *
+         * <p>A Spliterator that cannot transfer elements more cheaply than by
+         * {@link #tryAdvance(java.util.function.IntConsumer)} may decline by
+         * returning {@code -1}, in which case no elements are consumed and
+         * the caller should fall back to element-at-a-time traversal.
+         *
+         * @implSpec
+         * The default implementation returns {@code -1}.
+         *
+         * @param buffer the array into which remaining elements are copied
+         * @return the number of elements copied, {@code 0} if no elements
+         * remain, or {@code -1} if bulk transfer is not supported
+         */
+        default int tryAdvanceBatch(int[] buffer) {
+            return -1;
+        }
+
         /**
          * {@inheritDoc}
          * @implSpec
@@ -718,6 +742,30 @@ public interface Spliterator<T> {
             do { } while (tryAdvance(action));
         }
 
+        /**
+         * If remaining elements exist, copies up to {@code buffer.length} of
+         * them into {@code buffer}, starting at index 0 and in encounter order
+         * if this Spliterator is {@link #ORDERED}, and advances past the
+         * copied elements.  Callers such as stream pipelines may use this to
+         * process elements a chunk at a time in a tight loop, rather than
+         * through one {@code LongConsumer} invocation per element.
+         *
+         * <p>A Spliterator that cannot transfer elements more cheaply than by
+         * {@link #tryAdvance(java.util.function.LongConsumer)} may decline by
+         * returning {@code -1}, in which case no elements are consumed and
+         * the caller should fall back to element-at-a-time traversal.
+         *
+         * @implSpec
+         * The default implementation returns {@code -1}.
+         *
+         * @param buffer the array into which remaining elements are copied
+         * @return the number of elements copied, {@code 0} if no elements
+         * remain, or {@code -1} if bulk transfer is not supported
+         */
+        default int tryAdvanceBatch(long[] buffer) {
+            return -1;
+        }
+
         /**
          * {@inheritDoc}
          * @implSpec
@@ -782,6 +830,30 @@ public interface Spliterator<T> {
             do { } while (tryAdvance(action));
         }
 
+        /**
+         * If remaining elements exist, copies up to {@code buffer.length} of
+         * them into {@code buffer}, starting at index 0 and in encounter order
+         * if this Spliterator is {@link #ORDERED}, and advances past the
+         * copied elements.  Callers such as stream pipelines may use this to
+         * process elements a chunk at a time in a tight loop, rather than
+         * through one {@code DoubleConsumer} invocation per element.
+         *
+         * <p>A Spliterator that cannot transfer elements more cheaply than by
+         * {@link #tryAdvance(java.util.function.DoubleConsumer)} may decline by
+         * returning {@code -1}, in which case no elements are consumed and
+         * the caller should fall back to element-at-a-time traversal.
+         *
+         * @implSpec
+         * The default implementation returns {@code -1}.
+         *
+         * @param buffer the array into which remaining elements are copied
+         * @return the number of elements copied, {@code 0} if no elements
+         * remain, or {@code -1} if bulk transfer is not supported
+         */
+        default int tryAdvanceBatch(double[] buffer) {
+            return -1;
+        }
+
         /**
          * {@inheritDoc}
          * @implSpec
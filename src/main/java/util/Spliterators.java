@@ -1044,6 +1044,16 @@ public final class Spliterators {
             return false;
         }
 
+        @Override
+        public int tryAdvanceBatch(int[] buffer) {
+            int i = index, n = Math.min(fence - i, buffer.length);
+            if (i < 0 || n <= 0)
+                return 0;
+            System.arraycopy(array, i, buffer, 0, n);
+            index = i + n;
+            return n;
+        }
+
         @Override
         public long estimateSize() { return (long)(fence - index); }
 
@@ -1127,6 +1137,16 @@ public final class Spliterators {
             return false;
         }
 
+        @Override
+        public int tryAdvanceBatch(long[] buffer) {
+            int i = index, n = Math.min(fence - i, buffer.length);
+            if (i < 0 || n <= 0)
+                return 0;
+            System.arraycopy(array, i, buffer, 0, n);
+            index = i + n;
+            return n;
+        }
+
         @Override
         public long estimateSize() { return (long)(fence - index); }
 
@@ -1210,6 +1230,16 @@ public final class Spliterators {
             return false;
         }
 
+        @Override
+        public int tryAdvanceBatch(double[] buffer) {
+            int i = index, n = Math.min(fence - i, buffer.length);
+            if (i < 0 || n <= 0)
+                return 0;
+            System.arraycopy(array, i, buffer, 0, n);
+            index = i + n;
+            return n;
+        }
+
         @Override
         public long estimateSize() { return (long)(fence - index); }
 
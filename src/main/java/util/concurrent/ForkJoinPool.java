@@ -50,6 +50,7 @@ import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.security.AccessControlContext;
 import java.security.ProtectionDomain;
 import java.security.Permissions;
@@ -1073,10 +1074,15 @@ public class ForkJoinPool extends AbstractExecutorService {
          */
         final void runTask(ForkJoinTask<?> task) {
             if (task != null) {
+                ForkJoinPool p; Metrics m;
+                long start = ((p = pool) == null || (m = p.metrics) == null) ?
+                    0L : System.nanoTime();
                 scanState &= ~SCANNING; // mark as busy
                 (currentSteal = task).doExec();
                 U.putOrderedObject(this, QCURRENTSTEAL, null); // release for GC
                 execLocalTasks();
+                if (start != 0L && (m = p.metrics) != null)
+                    m.recordRunTime(System.nanoTime() - start);
                 ForkJoinWorkerThread thread = owner;
                 if (++nsteals < 0)      // collect on overflow
                     transferStealCount(pool);
@@ -1269,6 +1275,17 @@ public class ForkJoinPool extends AbstractExecutorService {
 
     // static fields (initialized in static initializer below)
 
+    /**
+     * The domain and type of the {@link javax.management.ObjectName
+     * ObjectName} under which the {@link ForkJoinPoolMXBean} of a pool
+     * should be registered; the full name adds a {@code name} key whose
+     * value is the name of the pool.
+     *
+     * @see #getMXBean
+     */
+    public static final String MXBEAN_DOMAIN_TYPE =
+        "java.util.concurrent:type=ForkJoinPool";
+
     /**
      * Creates a new ForkJoinWorkerThread. This factory is used unless
      * overridden in ForkJoinPool constructors.创建一个新的ForkJoinWorkerThread。除非在ForkJoinPool构造函数中重写，否则使用此工厂。
@@ -1418,6 +1435,7 @@ public class ForkJoinPool extends AbstractExecutorService {
     final UncaughtExceptionHandler ueh;  // per-worker UEH
     final String workerNamePrefix;       // to create worker name string
     volatile AtomicLong stealCounter;    // also used as sync monitor
+    volatile Metrics metrics;            // instrumentation, or null
 
     /**
      * Acquires the runState lock; returns current (locked) runState.获得runState锁;返回当前runState(锁)。
@@ -1668,8 +1686,12 @@ public class ForkJoinPool extends AbstractExecutorService {
             long nc = (UC_MASK & (c + AC_UNIT)) | (SP_MASK & v.stackPred);
             if (d == 0 && U.compareAndSwapLong(this, CTL, c, nc)) {
                 v.scanState = vs;                      // activate v
-                if ((p = v.parker) != null)
+                if ((p = v.parker) != null) {
                     U.unpark(p);
+                    Metrics m;
+                    if ((m = metrics) != null)
+                        m.unparks.increment();
+                }
                 break;
             }
             if (q != null && q.base == q.top)          // no more work
@@ -1694,8 +1716,12 @@ public class ForkJoinPool extends AbstractExecutorService {
             long nc = (UC_MASK & (c + inc)) | (SP_MASK & v.stackPred);
             if (U.compareAndSwapLong(this, CTL, c, nc)) {
                 v.scanState = vs;
-                if ((p = v.parker) != null)
+                if ((p = v.parker) != null) {
                     U.unpark(p);
+                    Metrics m;
+                    if ((m = metrics) != null)
+                        m.unparks.increment();
+                }
                 return true;
             }
         }
@@ -1846,8 +1872,12 @@ public class ForkJoinPool extends AbstractExecutorService {
                 Thread wt = Thread.currentThread();
                 U.putObject(wt, PARKBLOCKER, this);   // emulate LockSupport
                 w.parker = wt;
-                if (w.scanState < 0 && ctl == c)      // recheck before park
+                if (w.scanState < 0 && ctl == c) {    // recheck before park
+                    Metrics m;
+                    if ((m = metrics) != null)
+                        m.parks.increment();
                     U.park(false, parkTime);
+                }
                 U.putOrderedObject(w, QPARKER, null);
                 U.putObject(wt, PARKBLOCKER, null);
                 if (w.scanState >= 0)
@@ -2013,8 +2043,12 @@ public class ForkJoinPool extends AbstractExecutorService {
             (ws = workQueues) == null || (m = ws.length - 1) <= 0 ||
             (pc = config & SMASK) == 0)           // parallelism disabled
             canBlock = false;
-        else if ((sp = (int)(c = ctl)) != 0)      // release idle worker
-            canBlock = tryRelease(c, ws[sp & m], 0L);
+        else if ((sp = (int)(c = ctl)) != 0) {    // release idle worker
+            Metrics mx;
+            if ((canBlock = tryRelease(c, ws[sp & m], 0L)) &&
+                (mx = metrics) != null)
+                mx.compensations.increment();
+        }
         else {
             int ac = (int)(c >> AC_SHIFT) + pc;
             int tc = (short)(c >> TC_SHIFT) + pc;
@@ -2046,6 +2080,9 @@ public class ForkJoinPool extends AbstractExecutorService {
                     add = U.compareAndSwapLong(this, CTL, c, nc);
                 unlockRunState(rs, rs & ~RSLOCK);
                 canBlock = add && createWorker(); // throws on exception
+                Metrics mx;
+                if (canBlock && (mx = metrics) != null)
+                    mx.compensations.increment();
             }
         }
         return canBlock;
@@ -3065,6 +3102,30 @@ public class ForkJoinPool extends AbstractExecutorService {
             "]";
     }
 
+    /**
+     * Returns the management interface of this pool, enabling the
+     * collection of its instrumentation counters on first use.  The
+     * MXBean is not registered with any {@code MBeanServer}.  A caller
+     * that registers it, typically under the name {@link
+     * #MXBEAN_DOMAIN_TYPE} with a {@code name} key identifying this
+     * pool, should unregister it when the pool is no longer used, since
+     * the registered MXBean keeps the pool reachable.
+     *
+     * @return the management interface of this pool
+     * @since 1.8
+     */
+    public ForkJoinPoolMXBean getMXBean() {
+        Metrics m;
+        if ((m = metrics) == null) {
+            Metrics nm = new Metrics(this);
+            if (U.compareAndSwapObject(this, METRICS, null, nm))
+                m = nm;
+            else
+                m = metrics;
+        }
+        return m;
+    }
+
     /**
      * Possibly initiates an orderly shutdown in which previously
      * submitted tasks are executed, but no new tasks will be
@@ -3385,6 +3446,108 @@ public class ForkJoinPool extends AbstractExecutorService {
         return new ForkJoinTask.AdaptedCallable<T>(callable);
     }
 
+    // Instrumentation
+
+    /**
+     * Counters and the MXBean of an instrumented pool.  A pool has no
+     * Metrics, and so pays only a volatile read of the metrics field on
+     * its scheduling paths, until getMXBean is first called.  Counters
+     * that are updated by many workers are LongAdders so that updates
+     * do not contend; per-worker values (queue depths and steal counts)
+     * are read directly from the WorkQueues when requested.
+     */
+    static final class Metrics implements ForkJoinPoolMXBean {
+        /**
+         * Number of buckets in the task run time histogram.  The last
+         * bucket covers all runs of 2^(HISTOGRAM_BUCKETS - 2)
+         * microseconds (about 18 minutes) or longer.
+         */
+        static final int HISTOGRAM_BUCKETS = 32;
+
+        final ForkJoinPool pool;
+        final String name;
+        final LongAdder parks = new LongAdder();
+        final LongAdder unparks = new LongAdder();
+        final LongAdder compensations = new LongAdder();
+        final LongAdder[] runTimes = new LongAdder[HISTOGRAM_BUCKETS];
+
+        Metrics(ForkJoinPool pool) {
+            String prefix = pool.workerNamePrefix;
+            this.pool = pool;
+            this.name = prefix.endsWith("-worker-") ?
+                prefix.substring(0, prefix.length() - 8) : prefix;
+            for (int i = 0; i < HISTOGRAM_BUCKETS; ++i)
+                runTimes[i] = new LongAdder();
+        }
+
+        final void recordRunTime(long nanos) {
+            long micros = nanos / 1000L;
+            int b = 64 - Long.numberOfLeadingZeros(micros); // 0 if < 1us
+            runTimes[(b < HISTOGRAM_BUCKETS) ? b : HISTOGRAM_BUCKETS - 1]
+                .increment();
+        }
+
+        public String getName() { return name; }
+        public int getParallelism() { return pool.getParallelism(); }
+        public int getPoolSize() { return pool.getPoolSize(); }
+        public int getActiveThreadCount() { return pool.getActiveThreadCount(); }
+        public int getRunningThreadCount() { return pool.getRunningThreadCount(); }
+        public long getStealCount() { return pool.getStealCount(); }
+        public long getQueuedTaskCount() { return pool.getQueuedTaskCount(); }
+        public int getQueuedSubmissionCount() { return pool.getQueuedSubmissionCount(); }
+        public long getParkCount() { return parks.sum(); }
+        public long getUnparkCount() { return unparks.sum(); }
+        public long getCompensationCount() { return compensations.sum(); }
+
+        public String[] getWorkerNames() {
+            List<WorkQueue> qs = workers();
+            String[] names = new String[qs.size()];
+            for (int i = 0; i < names.length; ++i) {
+                ForkJoinWorkerThread wt = qs.get(i).owner;
+                names[i] = (wt == null) ? "" : wt.getName();
+            }
+            return names;
+        }
+
+        public int[] getWorkerQueueDepths() {
+            List<WorkQueue> qs = workers();
+            int[] depths = new int[qs.size()];
+            for (int i = 0; i < depths.length; ++i)
+                depths[i] = qs.get(i).queueSize();
+            return depths;
+        }
+
+        public long[] getWorkerStealCounts() {
+            List<WorkQueue> qs = workers();
+            long[] steals = new long[qs.size()];
+            for (int i = 0; i < steals.length; ++i)
+                steals[i] = qs.get(i).nsteals;
+            return steals;
+        }
+
+        public long[] getTaskRunTimeHistogram() {
+            long[] h = new long[HISTOGRAM_BUCKETS];
+            for (int i = 0; i < HISTOGRAM_BUCKETS; ++i)
+                h[i] = runTimes[i].sum();
+            return h;
+        }
+
+        /**
+         * Returns the worker queues (those at odd indices), in index order.
+         */
+        private List<WorkQueue> workers() {
+            ArrayList<WorkQueue> list = new ArrayList<>();
+            WorkQueue[] ws; WorkQueue w;
+            if ((ws = pool.workQueues) != null) {
+                for (int i = 1; i < ws.length; i += 2) {
+                    if ((w = ws[i]) != null)
+                        list.add(w);
+                }
+            }
+            return list;
+        }
+    }
+
     // Unsafe mechanics
     private static final sun.misc.Unsafe U;
     private static final int  ABASE;
@@ -3392,6 +3555,7 @@ public class ForkJoinPool extends AbstractExecutorService {
     private static final long CTL;
     private static final long RUNSTATE;
     private static final long STEALCOUNTER;
+    private static final long METRICS;
     private static final long PARKBLOCKER;
     private static final long QTOP;
     private static final long QLOCK;
@@ -3411,6 +3575,8 @@ public class ForkJoinPool extends AbstractExecutorService {
                 (k.getDeclaredField("runState"));
             STEALCOUNTER = U.objectFieldOffset
                 (k.getDeclaredField("stealCounter"));
+            METRICS = U.objectFieldOffset
+                (k.getDeclaredField("metrics"));
             Class<?> tk = Thread.class;
             PARKBLOCKER = U.objectFieldOffset
                 (tk.getDeclaredField("parkBlocker"));
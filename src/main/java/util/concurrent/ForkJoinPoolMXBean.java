@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+/**
+ * The management interface for a {@link ForkJoinPool}.
+ *
+ * <p>An instance of this interface is an {@link javax.management.MXBean
+ * MXBean} obtained by calling {@link ForkJoinPool#getMXBean} on the pool
+ * to be monitored.  The first such call enables the pool's
+ * instrumentation counters.  The MXBean is not registered automatically;
+ * a caller that registers it, for example with the
+ * {@linkplain java.lang.management.ManagementFactory#getPlatformMBeanServer
+ * platform {@code MBeanServer}}, should use an
+ * {@link javax.management.ObjectName ObjectName} of the form:
+ * <pre>
+ *    {@link ForkJoinPool#MXBEAN_DOMAIN_TYPE java.util.concurrent:type=ForkJoinPool}{@code ,name=}<i>pool name</i>
+ * </pre>
+ * and should unregister it once the pool is no longer used, since a
+ * registered MXBean keeps its pool reachable.
+ *
+ * <p>Per-worker values are reported as arrays that are parallel to
+ * {@link #getWorkerNames}: element {@code i} of each array describes
+ * the worker named by element {@code i} of {@code getWorkerNames()}.
+ * Since workers come and go and each array is computed by a separate
+ * traversal of the pool, arrays obtained by separate calls may be of
+ * different lengths.  All values are estimates that may be stale by the
+ * time they are returned.
+ *
+ * <p>Counters that are incremented on the pool's scheduling paths
+ * (parking, unparking, compensation, and task run times) are kept in
+ * {@link java.util.concurrent.atomic.LongAdder LongAdder}s, and are only
+ * maintained once the MXBean has been obtained, so that an
+ * unmonitored pool pays no cost for them.
+ *
+ * @since 1.8
+ * @see ForkJoinPool#getMXBean
+ */
+public interface ForkJoinPoolMXBean {
+
+    /**
+     * Returns the name of the pool, which is the prefix of the names
+     * of its worker threads.
+     *
+     * @return the name of the pool
+     */
+    String getName();
+
+    /**
+     * Returns the targeted parallelism level of the pool.
+     *
+     * @return the targeted parallelism level of the pool
+     * @see ForkJoinPool#getParallelism
+     */
+    int getParallelism();
+
+    /**
+     * Returns the number of worker threads that have started but not
+     * yet terminated.
+     *
+     * @return the number of worker threads
+     * @see ForkJoinPool#getPoolSize
+     */
+    int getPoolSize();
+
+    /**
+     * Returns an estimate of the number of threads that are currently
+     * stealing or executing tasks.
+     *
+     * @return the number of active threads
+     * @see ForkJoinPool#getActiveThreadCount
+     */
+    int getActiveThreadCount();
+
+    /**
+     * Returns an estimate of the number of worker threads that are
+     * not blocked waiting to join tasks or for other managed
+     * synchronization.
+     *
+     * @return the number of running worker threads
+     * @see ForkJoinPool#getRunningThreadCount
+     */
+    int getRunningThreadCount();
+
+    /**
+     * Returns an estimate of the total number of tasks stolen from
+     * one thread's work queue by another.
+     *
+     * @return the number of steals
+     * @see ForkJoinPool#getStealCount
+     */
+    long getStealCount();
+
+    /**
+     * Returns an estimate of the total number of tasks currently held
+     * in queues by worker threads.
+     *
+     * @return the number of queued tasks
+     * @see ForkJoinPool#getQueuedTaskCount
+     */
+    long getQueuedTaskCount();
+
+    /**
+     * Returns an estimate of the number of tasks submitted to the pool
+     * that have not yet begun executing.
+     *
+     * @return the number of queued submissions
+     * @see ForkJoinPool#getQueuedSubmissionCount
+     */
+    int getQueuedSubmissionCount();
+
+    /**
+     * Returns the names of the worker threads currently registered with
+     * the pool.
+     *
+     * @return the names of the worker threads
+     */
+    String[] getWorkerNames();
+
+    /**
+     * Returns, for each worker, an estimate of the number of tasks in its
+     * work queue.  A worker whose queue stays empty while others are deep
+     * is starved of work.
+     *
+     * @return the queue depth of each worker
+     */
+    int[] getWorkerQueueDepths();
+
+    /**
+     * Returns, for each worker, the number of top-level tasks it has
+     * stolen that have not yet been folded into the pool-wide
+     * {@linkplain #getStealCount steal count}.
+     *
+     * @return the steal count of each worker
+     */
+    long[] getWorkerStealCounts();
+
+    /**
+     * Returns the number of times a worker parked waiting for work
+     * since the MXBean was obtained.
+     *
+     * @return the number of worker parks
+     */
+    long getParkCount();
+
+    /**
+     * Returns the number of times an idle worker was unparked to take
+     * work since the MXBean was obtained.
+     *
+     * @return the number of worker unparks
+     */
+    long getUnparkCount();
+
+    /**
+     * Returns the number of times a spare worker was released or created
+     * to compensate for a worker blocking in a join or in
+     * {@link ForkJoinPool#managedBlock managedBlock} since the MXBean was
+     * obtained.
+     *
+     * @return the number of compensations
+     */
+    long getCompensationCount();
+
+    /**
+     * Returns a histogram of the run times of top-level tasks, that is,
+     * of tasks taken by a worker from a queue, including the local tasks
+     * they fork and that the same worker then runs.  Element {@code 0}
+     * counts tasks that ran for less than one microsecond, and element
+     * {@code i > 0} counts tasks that ran for at least
+     * 2<sup>i-1</sup> and less than 2<sup>i</sup> microseconds; the last
+     * element also counts all longer runs.
+     *
+     * @return the task run time histogram
+     */
+    long[] getTaskRunTimeHistogram();
+}
@@ -0,0 +1,954 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A scope within which a task forks concurrent subtasks and then joins
+ * them as a unit, so that no subtask outlives the scope that created it.
+ *
+ * <p>Subtasks are forked with {@link #fork(Callable)}, which submits
+ * them to the scope's {@link ForkJoinPool}, or are brought into the
+ * scope with {@link #adopt(CompletableFuture)}.  The owner then calls
+ * {@link #join()} (or {@link #joinUntil}) to wait until all subtasks have
+ * completed or the scope has been {@linkplain #shutdown shut down}, and
+ * finally {@link #close()}, normally through a try-with-resources
+ * statement:
+ *
+ * <pre> {@code
+ * Response handle() throws ExecutionException, InterruptedException {
+ *   try (TaskScope.ShutdownOnFailure scope = new TaskScope.ShutdownOnFailure()) {
+ *     TaskScope.Subtask<String> user  = scope.fork(() -> findUser());
+ *     TaskScope.Subtask<Integer> order = scope.fork(() -> fetchOrder());
+ *     scope.join();          // wait for both, or for the first failure
+ *     scope.throwIfFailed(); // propagate the failure, if any
+ *     return new Response(user.get(), order.get());
+ *   }
+ * }}</pre>
+ *
+ * <p><b>Shutdown.</b> Shutting a scope down cancels every subtask that
+ * has not yet completed: subtasks that have not started are cancelled
+ * with {@link ForkJoinTask#cancel} and never run, running subtasks are
+ * interrupted, and adopted futures are cancelled with {@link
+ * CompletableFuture#cancel}.  Subtasks forked after shutdown are not
+ * run.  A scope is shut down explicitly by {@link #shutdown}, by a
+ * completion policy from within {@link #handleComplete}, when its
+ * deadline expires, and by {@link #close}.  The nested classes {@link
+ * ShutdownOnFailure} and {@link ShutdownOnSuccess} implement the two
+ * common policies of abandoning the remaining subtasks once one of them
+ * fails, or once one of them succeeds.
+ *
+ * <p><b>Deadlines.</b> A scope may be created with a timeout, after
+ * which it is shut down.  A scope created while running a subtask of
+ * another scope inherits the enclosing scope's deadline if that is
+ * earlier than its own, so a deadline bounds all work done on its
+ * behalf, however deeply it is nested.
+ *
+ * <p><b>Joining.</b> {@link #join} blocks using {@link
+ * ForkJoinPool#managedBlock}, so a subtask that opens and joins a nested
+ * scope while running in a {@code ForkJoinPool} does not reduce the
+ * pool's parallelism.  {@link #close} shuts the scope down and then
+ * waits for all subtasks, including those that were interrupted, to
+ * finish.
+ *
+ * @since 1.8
+ * @param <T> the result type of the subtasks of this scope
+ */
+public class TaskScope<T> implements AutoCloseable {
+
+    /**
+     * The scope of the subtask running in the current thread, if any;
+     * consulted when constructing nested scopes to inherit deadlines.
+     */
+    static final ThreadLocal<TaskScope<?>> current = new ThreadLocal<>();
+
+    private final ForkJoinPool pool;
+    private final long deadline;          // System.nanoTime() based
+    private final boolean timed;          // true if deadline is valid
+    private final Set<Subtask<?>> subtasks = ConcurrentHashMap.newKeySet();
+    private final Object monitor = new Object(); // for join and close
+    private volatile int pending;         // count of uncompleted subtasks
+    private volatile int shutdown;        // nonzero after shutdown
+    private volatile boolean expired;     // true if the deadline passed
+    private volatile boolean closed;
+    private final ScheduledFuture<?> timeout; // deadline trigger, or null
+
+    /**
+     * Creates a scope that forks subtasks into the {@linkplain
+     * ForkJoinPool#commonPool() common pool} and has no deadline of its
+     * own.
+     */
+    public TaskScope() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a scope that forks subtasks into the given pool and has no
+     * deadline of its own.
+     *
+     * @param pool the pool in which to run subtasks
+     * @throws NullPointerException if pool is null
+     */
+    public TaskScope(ForkJoinPool pool) {
+        this(pool, false, 0L);
+    }
+
+    /**
+     * Creates a scope that forks subtasks into the given pool and is
+     * shut down once the given timeout has elapsed.
+     *
+     * @param pool the pool in which to run subtasks
+     * @param timeout the maximum time for the subtasks of this scope
+     * @param unit the time unit of the timeout argument
+     * @throws NullPointerException if pool or unit is null
+     */
+    public TaskScope(ForkJoinPool pool, long timeout, TimeUnit unit) {
+        this(pool, true, System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    private TaskScope(ForkJoinPool pool, boolean timed, long deadline) {
+        if (pool == null)
+            throw new NullPointerException();
+        TaskScope<?> parent = current.get();
+        if (parent != null && parent.timed &&
+            (!timed || parent.deadline - deadline < 0L)) {
+            timed = true;
+            deadline = parent.deadline;
+        }
+        this.pool = pool;
+        this.timed = timed;
+        this.deadline = deadline;
+        ScheduledFuture<?> f = null;
+        if (timed) {
+            long nanos = deadline - System.nanoTime();
+            if (nanos <= 0L)
+                expire();
+            else
+                f = Delayer.delay(new DeadlineTrigger(this), nanos);
+        }
+        this.timeout = f;
+    }
+
+    /**
+     * Forks the given task as a subtask of this scope, by submitting it
+     * to this scope's pool.  If this scope has been shut down, the task
+     * is not run and the returned subtask remains {@linkplain
+     * Subtask.State#UNAVAILABLE unavailable}.
+     *
+     * @param task the task to run
+     * @param <U> the result type of the task
+     * @return the subtask
+     * @throws NullPointerException if task is null
+     * @throws IllegalStateException if this scope has been closed
+     */
+    public <U extends T> Subtask<U> fork(Callable<? extends U> task) {
+        if (task == null)
+            throw new NullPointerException();
+        Subtask<U> s = new Subtask<U>(this, task);
+        if (register(s)) {
+            ForkedTask<U> f = new ForkedTask<U>(s);
+            s.future = f;
+            pool.execute(f);
+            if (shutdown != 0)      // recheck against concurrent shutdown
+                s.cancel();
+        }
+        return s;
+    }
+
+    /**
+     * Adds the given future as a subtask of this scope.  The subtask
+     * completes when the future does, and the future is {@linkplain
+     * CompletableFuture#cancel cancelled} if this scope is shut down
+     * first.  If this scope has already been shut down, the future is
+     * cancelled immediately.
+     *
+     * @param future the future to adopt
+     * @param <U> the result type of the future
+     * @return the subtask
+     * @throws NullPointerException if future is null
+     * @throws IllegalStateException if this scope has been closed
+     */
+    public <U extends T> Subtask<U> adopt(CompletableFuture<? extends U> future) {
+        if (future == null)
+            throw new NullPointerException();
+        Subtask<U> s = new Subtask<U>(this, null);
+        if (register(s)) {
+            s.future = future;
+            future.whenComplete(s::completeAdopted);
+            if (shutdown != 0)
+                s.cancel();
+        }
+        else
+            future.cancel(false);
+        return s;
+    }
+
+    /**
+     * Waits until all subtasks of this scope have completed or this
+     * scope has been shut down.
+     *
+     * @return this scope
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IllegalStateException if this scope has been closed
+     */
+    public TaskScope<T> join() throws InterruptedException {
+        ensureOpen();
+        await(false, false, 0L);
+        return this;
+    }
+
+    /**
+     * Waits until all subtasks of this scope have completed or this
+     * scope has been shut down, or the given timeout elapses, in which
+     * case this scope is shut down.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the time unit of the timeout argument
+     * @return this scope
+     * @throws InterruptedException if interrupted while waiting
+     * @throws TimeoutException if the wait timed out
+     * @throws IllegalStateException if this scope has been closed
+     */
+    public TaskScope<T> joinUntil(long timeout, TimeUnit unit)
+        throws InterruptedException, TimeoutException {
+        ensureOpen();
+        if (!await(false, true, System.nanoTime() + unit.toNanos(timeout))) {
+            shutdown();
+            throw new TimeoutException();
+        }
+        return this;
+    }
+
+    /**
+     * Shuts this scope down, cancelling all subtasks that have not
+     * completed.  Subtasks that complete after shutdown are not passed
+     * to {@link #handleComplete}, and remain {@linkplain
+     * Subtask.State#UNAVAILABLE unavailable}.  This method has no effect
+     * if this scope is already shut down.
+     */
+    public void shutdown() {
+        if (U.compareAndSwapInt(this, SHUTDOWN, 0, 1)) {
+            for (Subtask<?> s : subtasks)
+                s.cancel();
+            signal();
+        }
+    }
+
+    /**
+     * Returns {@code true} if this scope has been shut down.
+     *
+     * @return {@code true} if this scope has been shut down
+     */
+    public boolean isShutdown() {
+        return shutdown != 0;
+    }
+
+    /**
+     * Returns {@code true} if this scope was shut down because its
+     * deadline, or an inherited deadline, expired.
+     *
+     * @return {@code true} if the deadline of this scope expired
+     */
+    public boolean isDeadlineExpired() {
+        return expired;
+    }
+
+    /**
+     * Returns the time remaining until the deadline of this scope, in
+     * the given unit, or {@code Long.MAX_VALUE} if this scope has no
+     * deadline.  The result is zero or negative if the deadline has
+     * passed.
+     *
+     * @param unit the time unit of the result
+     * @return the time remaining until the deadline
+     */
+    public long getRemaining(TimeUnit unit) {
+        return timed ?
+            unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS) :
+            Long.MAX_VALUE;
+    }
+
+    /**
+     * Shuts this scope down and waits for all of its subtasks to finish,
+     * including those that were running when it was shut down.  If
+     * interrupted while waiting, this method continues to wait, and
+     * re-asserts the interrupt status before returning.  This method has
+     * no effect if this scope is already closed.
+     */
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        shutdown();
+        ScheduledFuture<?> f;
+        if ((f = timeout) != null)
+            f.cancel(false);
+        boolean interrupted = false;
+        for (;;) {
+            try {
+                await(true, false, 0L);
+                break;
+            } catch (InterruptedException ie) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Invoked by a subtask's thread when the subtask completes,
+     * successfully or not, before this scope is shut down.  Policies
+     * override this method to collect results and to {@link #shutdown}
+     * the scope when appropriate; it may be invoked concurrently by
+     * several threads.  The default implementation does nothing.
+     *
+     * @param subtask the completed subtask, whose state is {@link
+     * Subtask.State#SUCCESS SUCCESS} or {@link Subtask.State#FAILED FAILED}
+     */
+    protected void handleComplete(Subtask<? extends T> subtask) {
+    }
+
+    /**
+     * Throws IllegalStateException if closed.
+     */
+    final void ensureOpen() {
+        if (closed)
+            throw new IllegalStateException("TaskScope is closed");
+    }
+
+    /**
+     * Records a new subtask, returning false if it should not be run
+     * because this scope is shut down.
+     */
+    private boolean register(Subtask<?> s) {
+        ensureOpen();
+        if (shutdown != 0)
+            return false;
+        U.getAndAddInt(this, PENDING, 1);
+        subtasks.add(s);
+        return true;
+    }
+
+    /**
+     * Called exactly once for each registered subtask when it finishes,
+     * whether or not it ran.
+     */
+    @SuppressWarnings("unchecked")
+    final void done(Subtask<?> s, boolean report) {
+        if (report && shutdown == 0)
+            handleComplete((Subtask<? extends T>)s);
+        subtasks.remove(s);
+        if (U.getAndAddInt(this, PENDING, -1) == 1)
+            signal();
+    }
+
+    /**
+     * Wakes up threads waiting in join or close.
+     */
+    private void signal() {
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+    }
+
+    /**
+     * Called when the deadline expires.
+     */
+    final void expire() {
+        if (shutdown == 0) {
+            expired = true;
+            shutdown();
+        }
+    }
+
+    /**
+     * Waits until no subtasks are pending, or (unless all is true)
+     * until shutdown, using a managed block so that pool workers are
+     * compensated.  Returns false if timed and the time elapsed.
+     */
+    private boolean await(boolean all, boolean timed, long until)
+        throws InterruptedException {
+        Waiter w = new Waiter(this, all, timed, until);
+        ForkJoinPool.managedBlock(w);
+        return w.isReleasable();
+    }
+
+    /**
+     * ManagedBlocker for join and close.
+     */
+    static final class Waiter implements ForkJoinPool.ManagedBlocker {
+        final TaskScope<?> scope;
+        final boolean all;
+        final boolean timed;
+        final long until;
+        Waiter(TaskScope<?> scope, boolean all, boolean timed, long until) {
+            this.scope = scope; this.all = all;
+            this.timed = timed; this.until = until;
+        }
+        public boolean isReleasable() {
+            TaskScope<?> s = scope;
+            return s.pending == 0 || (!all && s.shutdown != 0);
+        }
+        public boolean block() throws InterruptedException {
+            Object m = scope.monitor;
+            synchronized (m) {
+                while (!isReleasable()) {
+                    if (!timed)
+                        m.wait();
+                    else {
+                        long nanos = until - System.nanoTime();
+                        if (nanos <= 0L)
+                            return true;
+                        TimeUnit.NANOSECONDS.timedWait(m, nanos);
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A subtask of a {@link TaskScope}, forked by {@link TaskScope#fork}
+     * or adopted by {@link TaskScope#adopt}.
+     *
+     * @param <T> the result type of the subtask
+     * @since 1.8
+     */
+    public static final class Subtask<T> implements Supplier<T> {
+
+        /**
+         * The observable state of a subtask.
+         */
+        public enum State {
+            /**
+             * The subtask has not completed, was cancelled, or
+             * completed after its scope was shut down.
+             */
+            UNAVAILABLE,
+            /**
+             * The subtask completed successfully before its scope was
+             * shut down.
+             */
+            SUCCESS,
+            /**
+             * The subtask completed with an exception before its scope
+             * was shut down.
+             */
+            FAILED
+        }
+
+        /*
+         * Run state transitions, in the manner of FutureTask:
+         *   NEW -> RUNNING -> SUCCESS | FAILED | CANCELLED
+         *   NEW -> RUNNING -> INTERRUPTING -> INTERRUPTED -> CANCELLED
+         *   NEW -> SUCCESS | FAILED | CANCELLED  (adopted futures)
+         *   NEW -> CANCELLED
+         * CANCELLED is also used for subtasks that complete after their
+         * scope is shut down.
+         */
+        static final int NEW          = 0;
+        static final int RUNNING      = 1;
+        static final int INTERRUPTING = 2;
+        static final int INTERRUPTED  = 3;
+        static final int SUCCESS      = 4;
+        static final int FAILED       = 5;
+        static final int CANCELLED    = 6;
+
+        final TaskScope<? super T> scope;
+        final Callable<? extends T> task;  // null if adopted
+        Future<?> future;                  // set before use, see fork
+        volatile int state;
+        volatile Thread runner;
+        T result;                          // published by state write
+        Throwable exception;
+
+        Subtask(TaskScope<? super T> scope, Callable<? extends T> task) {
+            this.scope = scope;
+            this.task = task;
+        }
+
+        /**
+         * Returns the state of this subtask.
+         *
+         * @return the state of this subtask
+         */
+        public State state() {
+            int s = state;
+            return (s == SUCCESS) ? State.SUCCESS :
+                (s == FAILED) ? State.FAILED : State.UNAVAILABLE;
+        }
+
+        /**
+         * Returns the result of this subtask.
+         *
+         * @return the result
+         * @throws IllegalStateException if the state of this subtask is
+         * not {@link State#SUCCESS SUCCESS}
+         */
+        public T get() {
+            if (state != SUCCESS)
+                throw new IllegalStateException("Result is unavailable");
+            return result;
+        }
+
+        /**
+         * Returns the exception thrown by this subtask.
+         *
+         * @return the exception
+         * @throws IllegalStateException if the state of this subtask is
+         * not {@link State#FAILED FAILED}
+         */
+        public Throwable exception() {
+            if (state != FAILED)
+                throw new IllegalStateException("Exception is unavailable");
+            return exception;
+        }
+
+        /**
+         * Runs the task in the current worker; invoked by ForkedTask.
+         */
+        final void run() {
+            runner = Thread.currentThread();
+            if (!U.compareAndSwapInt(this, STATE, NEW, RUNNING)) {
+                runner = null;
+                return;
+            }
+            TaskScope<?> outer = current.get();
+            current.set(scope);
+            T r = null;
+            Throwable ex = null;
+            try {
+                r = task.call();
+            } catch (Throwable t) {
+                ex = t;
+            } finally {
+                current.set(outer);
+            }
+            for (;;) {
+                int s = state;
+                if (s == INTERRUPTING)
+                    Thread.yield();     // wait out pending interrupt
+                else if (s == INTERRUPTED) {
+                    state = CANCELLED;
+                    Thread.interrupted(); // clear before returning to pool
+                    break;
+                }
+                else if (scope.shutdown != 0) {
+                    if (U.compareAndSwapInt(this, STATE, RUNNING, CANCELLED))
+                        break;
+                }
+                else {
+                    result = r;
+                    exception = ex;
+                    if (U.compareAndSwapInt(this, STATE, RUNNING,
+                                            (ex == null) ? SUCCESS : FAILED)) {
+                        runner = null;
+                        scope.done(this, true);
+                        return;
+                    }
+                    result = null;
+                    exception = null;
+                }
+            }
+            runner = null;
+            scope.done(this, false);
+        }
+
+        /**
+         * Completion action for adopted futures.
+         */
+        final void completeAdopted(T r, Throwable ex) {
+            if (state == NEW) {
+                if (ex instanceof CompletionException && ex.getCause() != null)
+                    ex = ex.getCause();
+                result = r;
+                exception = ex;
+                int s = (scope.shutdown != 0) ? CANCELLED :
+                    (ex == null) ? SUCCESS : FAILED;
+                if (U.compareAndSwapInt(this, STATE, NEW, s))
+                    scope.done(this, s != CANCELLED);
+                else {
+                    result = null;
+                    exception = null;
+                }
+            }
+        }
+
+        /**
+         * Cancels if not started, else interrupts the runner if running.
+         */
+        final void cancel() {
+            int s = state;
+            Future<?> f = future;
+            if (s == NEW && U.compareAndSwapInt(this, STATE, NEW, CANCELLED)) {
+                if (f != null)
+                    f.cancel(false);
+                scope.done(this, false);
+            }
+            else if (s == RUNNING &&
+                     U.compareAndSwapInt(this, STATE, RUNNING, INTERRUPTING)) {
+                try {
+                    Thread t = runner;
+                    if (t != null)
+                        t.interrupt();
+                } finally {
+                    state = INTERRUPTED;
+                }
+            }
+        }
+
+        public String toString() {
+            return super.toString() + "[" + state() + "]";
+        }
+
+        private static final sun.misc.Unsafe U;
+        private static final long STATE;
+        static {
+            try {
+                U = sun.misc.Unsafe.getUnsafe();
+                STATE = U.objectFieldOffset
+                    (Subtask.class.getDeclaredField("state"));
+            } catch (Exception e) {
+                throw new Error(e);
+            }
+        }
+    }
+
+    /**
+     * The ForkJoinTask submitted to the pool for each forked subtask.
+     */
+    static final class ForkedTask<T> extends ForkJoinTask<Void> {
+        final Subtask<T> subtask;
+        ForkedTask(Subtask<T> subtask) { this.subtask = subtask; }
+        public final Void getRawResult() { return null; }
+        public final void setRawResult(Void v) { }
+        public final boolean exec() { subtask.run(); return true; }
+        private static final long serialVersionUID = 5232453952276885070L;
+    }
+
+    /**
+     * Task run by the Delayer when a deadline expires.
+     */
+    static final class DeadlineTrigger implements Runnable {
+        final TaskScope<?> scope;
+        DeadlineTrigger(TaskScope<?> scope) { this.scope = scope; }
+        public void run() { scope.expire(); }
+    }
+
+    /**
+     * Singleton delay scheduler, used only for scope deadlines.
+     */
+    static final class Delayer {
+        static ScheduledFuture<?> delay(Runnable command, long nanos) {
+            return delayer.schedule(command, nanos, TimeUnit.NANOSECONDS);
+        }
+
+        static final class DaemonThreadFactory implements ThreadFactory {
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r);
+                t.setDaemon(true);
+                t.setName("TaskScopeDelayScheduler");
+                return t;
+            }
+        }
+
+        static final ScheduledThreadPoolExecutor delayer;
+        static {
+            (delayer = new ScheduledThreadPoolExecutor(
+                1, new DaemonThreadFactory())).
+                setRemoveOnCancelPolicy(true);
+        }
+    }
+
+    /**
+     * A {@code TaskScope} that shuts down when any subtask fails, for
+     * use when the results of all subtasks are needed.
+     *
+     * @since 1.8
+     */
+    public static final class ShutdownOnFailure extends TaskScope<Object> {
+        private volatile Throwable firstException;
+
+        /**
+         * Creates a scope that forks subtasks into the {@linkplain
+         * ForkJoinPool#commonPool() common pool}.
+         */
+        public ShutdownOnFailure() {
+            super();
+        }
+
+        /**
+         * Creates a scope that forks subtasks into the given pool.
+         *
+         * @param pool the pool in which to run subtasks
+         * @throws NullPointerException if pool is null
+         */
+        public ShutdownOnFailure(ForkJoinPool pool) {
+            super(pool);
+        }
+
+        /**
+         * Creates a scope that forks subtasks into the given pool and is
+         * shut down once the given timeout has elapsed.
+         *
+         * @param pool the pool in which to run subtasks
+         * @param timeout the maximum time for the subtasks of this scope
+         * @param unit the time unit of the timeout argument
+         * @throws NullPointerException if pool or unit is null
+         */
+        public ShutdownOnFailure(ForkJoinPool pool, long timeout, TimeUnit unit) {
+            super(pool, timeout, unit);
+        }
+
+        /**
+         * Records the exception of the first subtask to fail, and shuts
+         * this scope down.
+         */
+        @Override
+        protected void handleComplete(Subtask<?> subtask) {
+            if (subtask.state() == Subtask.State.FAILED &&
+                firstException == null &&
+                U.compareAndSwapObject(this, FIRST_EXCEPTION, null,
+                                       subtask.exception()))
+                shutdown();
+        }
+
+        /**
+         * Returns the exception of the first subtask that failed, or a
+         * {@link TimeoutException} if the deadline of this scope expired
+         * before any subtask failed.
+         *
+         * @return the exception, or an empty Optional if no subtask
+         * failed and the deadline did not expire
+         */
+        public Optional<Throwable> exception() {
+            Throwable ex = firstException;
+            if (ex == null && isDeadlineExpired())
+                ex = new TimeoutException("TaskScope deadline expired");
+            return Optional.ofNullable(ex);
+        }
+
+        /**
+         * Throws if a subtask failed or the deadline of this scope
+         * expired.
+         *
+         * @throws ExecutionException if a subtask failed, with the
+         * exception of the first subtask to fail as its cause, or if the
+         * deadline expired, with a {@link TimeoutException} as its cause
+         */
+        public void throwIfFailed() throws ExecutionException {
+            Optional<Throwable> ex = exception();
+            if (ex.isPresent())
+                throw new ExecutionException(ex.get());
+        }
+
+        /**
+         * Throws an exception produced by the given function if a
+         * subtask failed or the deadline of this scope expired.
+         *
+         * @param esf the function mapping the exception to the
+         * exception to throw
+         * @param <X> the type of the exception to throw
+         * @throws X if a subtask failed or the deadline expired
+         * @throws NullPointerException if esf is null, or returns null
+         */
+        public <X extends Throwable> void throwIfFailed(
+            Function<Throwable, ? extends X> esf) throws X {
+            if (esf == null)
+                throw new NullPointerException();
+            Optional<Throwable> ex = exception();
+            if (ex.isPresent()) {
+                X x = esf.apply(ex.get());
+                if (x == null)
+                    throw new NullPointerException();
+                throw x;
+            }
+        }
+
+        private static final sun.misc.Unsafe U;
+        private static final long FIRST_EXCEPTION;
+        static {
+            try {
+                U = sun.misc.Unsafe.getUnsafe();
+                FIRST_EXCEPTION = U.objectFieldOffset
+                    (ShutdownOnFailure.class.getDeclaredField("firstException"));
+            } catch (Exception e) {
+                throw new Error(e);
+            }
+        }
+    }
+
+    /**
+     * A {@code TaskScope} that captures the result of the first subtask
+     * to succeed and then shuts down, for use when any one result
+     * suffices.
+     *
+     * @param <T> the result type of the subtasks of this scope
+     * @since 1.8
+     */
+    public static final class ShutdownOnSuccess<T> extends TaskScope<T> {
+        private static final Object NULL_RESULT = new Object();
+        private volatile Object firstResult;     // masked with NULL_RESULT
+        private volatile Throwable firstException;
+
+        /**
+         * Creates a scope that forks subtasks into the {@linkplain
+         * ForkJoinPool#commonPool() common pool}.
+         */
+        public ShutdownOnSuccess() {
+            super();
+        }
+
+        /**
+         * Creates a scope that forks subtasks into the given pool.
+         *
+         * @param pool the pool in which to run subtasks
+         * @throws NullPointerException if pool is null
+         */
+        public ShutdownOnSuccess(ForkJoinPool pool) {
+            super(pool);
+        }
+
+        /**
+         * Creates a scope that forks subtasks into the given pool and is
+         * shut down once the given timeout has elapsed.
+         *
+         * @param pool the pool in which to run subtasks
+         * @param timeout the maximum time for the subtasks of this scope
+         * @param unit the time unit of the timeout argument
+         * @throws NullPointerException if pool or unit is null
+         */
+        public ShutdownOnSuccess(ForkJoinPool pool, long timeout, TimeUnit unit) {
+            super(pool, timeout, unit);
+        }
+
+        /**
+         * Records the result of the first subtask to succeed, and shuts
+         * this scope down; otherwise records the first exception.
+         */
+        @Override
+        protected void handleComplete(Subtask<? extends T> subtask) {
+            if (firstResult != null)
+                return;
+            if (subtask.state() == Subtask.State.SUCCESS) {
+                T r = subtask.get();
+                if (U.compareAndSwapObject(this, FIRST_RESULT, null,
+                                           (r == null) ? NULL_RESULT : r))
+                    shutdown();
+            }
+            else if (firstException == null)
+                U.compareAndSwapObject(this, FIRST_EXCEPTION, null,
+                                       subtask.exception());
+        }
+
+        /**
+         * Returns the result of the first subtask to succeed.
+         *
+         * @return the result
+         * @throws ExecutionException if no subtask succeeded, with the
+         * exception of the first subtask to fail as its cause, or a
+         * {@link TimeoutException} if the deadline of this scope
+         * expired first
+         * @throws IllegalStateException if no subtask completed and the
+         * deadline did not expire
+         */
+        public T result() throws ExecutionException {
+            return result(ExecutionException::new);
+        }
+
+        /**
+         * Returns the result of the first subtask to succeed, or throws
+         * an exception produced by the given function.
+         *
+         * @param esf the function mapping the exception of the first
+         * subtask to fail, or a {@link TimeoutException} if the deadline
+         * of this scope expired, to the exception to throw
+         * @param <X> the type of the exception to throw
+         * @return the result
+         * @throws X if no subtask succeeded
+         * @throws IllegalStateException if no subtask completed and the
+         * deadline did not expire
+         * @throws NullPointerException if esf is null, or returns null
+         */
+        @SuppressWarnings("unchecked")
+        public <X extends Throwable> T result(
+            Function<Throwable, ? extends X> esf) throws X {
+            if (esf == null)
+                throw new NullPointerException();
+            Object r = firstResult;
+            if (r != null)
+                return (r == NULL_RESULT) ? null : (T)r;
+            Throwable ex = firstException;
+            if (ex == null) {
+                if (!isDeadlineExpired())
+                    throw new IllegalStateException("No completed subtasks");
+                ex = new TimeoutException("TaskScope deadline expired");
+            }
+            X x = esf.apply(ex);
+            if (x == null)
+                throw new NullPointerException();
+            throw x;
+        }
+
+        private static final sun.misc.Unsafe U;
+        private static final long FIRST_RESULT;
+        private static final long FIRST_EXCEPTION;
+        static {
+            try {
+                U = sun.misc.Unsafe.getUnsafe();
+                Class<?> k = ShutdownOnSuccess.class;
+                FIRST_RESULT = U.objectFieldOffset
+                    (k.getDeclaredField("firstResult"));
+                FIRST_EXCEPTION = U.objectFieldOffset
+                    (k.getDeclaredField("firstException"));
+            } catch (Exception e) {
+                throw new Error(e);
+            }
+        }
+    }
+
+    // Unsafe mechanics
+    private static final sun.misc.Unsafe U;
+    private static final long PENDING;
+    private static final long SHUTDOWN;
+    static {
+        try {
+            U = sun.misc.Unsafe.getUnsafe();
+            Class<?> k = TaskScope.class;
+            PENDING = U.objectFieldOffset
+                (k.getDeclaredField("pending"));
+            SHUTDOWN = U.objectFieldOffset
+                (k.getDeclaredField("shutdown"));
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+
+package java.util.regex;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * An Aho-Corasick automaton over a set of literal strings, used to
+ * prefilter searches for patterns that must contain, or begin with, one
+ * of a set of literals, and to scan an input once for the literals of a
+ * {@link PatternSet}.
+ *
+ * <p>The automaton is a complete DFA: failure transitions are resolved at
+ * construction, so each input character costs a single table lookup.
+ * Characters are first mapped to dense classes (characters that occur in
+ * no literal share class 0), through an array for ASCII and a binary
+ * search of the sorted non-ASCII literal characters for others, which
+ * keeps the transition table small.
+ *
+ * <p>Instances are immutable and may be shared between threads.
+ */
+final class AhoCorasick {
+
+    private final int[][] literals;     // literal code units, by id
+    private final int[] asciiClass;     // class of each ASCII char
+    private final char[] wideChars;     // sorted non-ASCII literal chars
+    private final int[] wideClass;      // class of each of wideChars
+    private final int classes;          // number of classes, including 0
+    private final int[] delta;          // state * classes + class -> state
+    private final int[] terminal;       // literal id ending at state, or -1
+    private final int[] dictLink;       // next state on suffix chain with a
+                                        // terminal, or -1
+    private final int[] depth;          // length of the string of a state
+    private final int minLength, maxLength;
+
+    /**
+     * Builds an automaton for the given literals, which must be nonempty
+     * and consist of BMP code points.  Duplicate literals share the
+     * smallest id.
+     */
+    AhoCorasick(int[][] literals) {
+        this.literals = literals;
+        int[] ascii = new int[128];
+        HashMap<Character, Integer> wide = new HashMap<>();
+        int ncls = 1, nstates = 1, min = Integer.MAX_VALUE, max = 0;
+        for (int[] lit : literals) {
+            for (int c : lit) {
+                if (c < 128) {
+                    if (ascii[c] == 0)
+                        ascii[c] = ncls++;
+                } else if (!wide.containsKey((char)c))
+                    wide.put((char)c, ncls++);
+            }
+            nstates += lit.length;
+            min = Math.min(min, lit.length);
+            max = Math.max(max, lit.length);
+        }
+        this.asciiClass = ascii;
+        char[] wc = new char[wide.size()];
+        int nw = 0;
+        for (char c : wide.keySet())
+            wc[nw++] = c;
+        Arrays.sort(wc);
+        int[] wk = new int[nw];
+        for (int i = 0; i < nw; i++)
+            wk[i] = wide.get(wc[i]);
+        this.wideChars = wc;
+        this.wideClass = wk;
+        this.classes = ncls;
+        this.minLength = min;
+        this.maxLength = max;
+
+        // Trie, with -1 for missing edges
+        int[] goTo = new int[nstates * ncls];
+        Arrays.fill(goTo, -1);
+        int[] term = new int[nstates];
+        int[] dep = new int[nstates];
+        Arrays.fill(term, -1);
+        int n = 1;
+        for (int id = 0; id < literals.length; id++) {
+            int s = 0;
+            for (int c : literals[id]) {
+                int k = s * ncls + classOf((char)c);
+                if (goTo[k] < 0) {
+                    dep[n] = dep[s] + 1;
+                    goTo[k] = n++;
+                }
+                s = goTo[k];
+            }
+            if (term[s] < 0)
+                term[s] = id;
+        }
+
+        // Breadth-first completion of the transition function
+        int[] fail = new int[n];
+        int[] dict = new int[n];
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        dict[0] = -1;
+        for (int c = 0; c < ncls; c++) {
+            int t = goTo[c];
+            if (t < 0)
+                goTo[c] = 0;
+            else {
+                fail[t] = 0;
+                dict[t] = -1;
+                queue[tail++] = t;
+            }
+        }
+        while (head < tail) {
+            int s = queue[head++];
+            for (int c = 0; c < ncls; c++) {
+                int k = s * ncls + c;
+                int t = goTo[k];
+                int f = goTo[fail[s] * ncls + c];
+                if (t < 0)
+                    goTo[k] = f;
+                else {
+                    fail[t] = f;
+                    dict[t] = (term[f] >= 0) ? f : dict[f];
+                    queue[tail++] = t;
+                }
+            }
+        }
+        this.delta = Arrays.copyOf(goTo, n * ncls);
+        this.terminal = Arrays.copyOf(term, n);
+        this.dictLink = dict;
+        this.depth = Arrays.copyOf(dep, n);
+    }
+
+    private int classOf(char c) {
+        if (c < 128)
+            return asciiClass[c];
+        int i = Arrays.binarySearch(wideChars, c);
+        return (i < 0) ? 0 : wideClass[i];
+    }
+
+    /** Returns the initial state. */
+    int start() {
+        return 0;
+    }
+
+    /** Returns the state reached from state s on character c. */
+    int step(int s, char c) {
+        return delta[s * classes + classOf(c)];
+    }
+
+    /** Returns the id of the longest literal ending at state s, or -1. */
+    int terminal(int s) {
+        return terminal[s];
+    }
+
+    /**
+     * Returns the next state on the suffix chain of s that ends a
+     * literal, or -1.  Together with terminal, this enumerates all
+     * literals ending at a position.
+     */
+    int dictLink(int s) {
+        return dictLink[s];
+    }
+
+    /** Returns the number of literals. */
+    int size() {
+        return literals.length;
+    }
+
+    /** Returns the length of the literal with the given id. */
+    int length(int id) {
+        return literals[id].length;
+    }
+
+    /** Returns the length of the shortest literal. */
+    int minLength() {
+        return minLength;
+    }
+
+    /** Returns the length of the longest literal. */
+    int maxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Returns the smallest index {@code p >= from} such that some literal
+     * occurs in seq at p and ends at or before {@code to}, or -1 if there
+     * is none.
+     */
+    int indexOf(CharSequence seq, int from, int to) {
+        int best = -1;
+        int limit = to;     // scan no further than needed to settle best
+        int s = 0;
+        for (int i = from; i < limit; i++) {
+            s = step(s, seq.charAt(i));
+            for (int t = (terminal[s] >= 0) ? s : dictLink[s]; t >= 0;
+                 t = dictLink[t]) {
+                int p = i + 1 - depth[t];
+                if (best < 0 || p < best) {
+                    best = p;
+                    // Any occurrence starting before best ends before
+                    // best + maxLength
+                    limit = Math.min(to, best + maxLength);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns true if {@code seq[p, to)} is a nonempty proper prefix of
+     * some literal.
+     */
+    boolean isPartialAt(CharSequence seq, int p, int to) {
+        if (p >= to || to - p >= maxLength)
+            return false;
+        // Walk the trie: a state of depth d reached from the start after
+        // d characters is a trie node, i.e. a prefix of some literal.
+        int s = 0;
+        for (int i = p; i < to; i++) {
+            s = step(s, seq.charAt(i));
+            if (depth[s] != i - p + 1)
+                return false;
+        }
+        return true;
+    }
+}
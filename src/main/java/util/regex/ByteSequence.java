@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+
+package java.util.regex;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * A read-only {@link CharSequence} view of the remaining bytes of a
+ * {@link ByteBuffer}, decoded as UTF-8.
+ *
+ * <p> Input that consists only of ASCII bytes is read in place, one
+ * character per byte, so indexes are also byte offsets.  Other input is
+ * decoded once, when the view is created or {@link #reset reset}, into a
+ * character array that is reused by later resets; characters outside the
+ * BMP decode to surrogate pairs, and malformed input is replaced by
+ * <tt>'&#92;uFFFD'</tt> as by the standard UTF-8 decoder.  Indexes are
+ * then those of the decoded characters.  The buffer's own position and
+ * limit are never modified.
+ */
+final class ByteSequence implements CharSequence {
+
+    private ByteBuffer buf;
+    private int base;
+    private int length;
+    private char[] chars;       // decoded input, or null if ASCII
+    private char[] decoded;     // array reused for decoding
+
+    ByteSequence(ByteBuffer buf) {
+        reset(buf);
+    }
+
+    private ByteSequence(ByteBuffer buf, int base, int length) {
+        this.buf = buf;
+        this.base = base;
+        this.length = length;
+    }
+
+    /**
+     * Rebinds this view to the remaining bytes of the given buffer.
+     */
+    ByteSequence reset(ByteBuffer buf) {
+        int base = buf.position();
+        int n = buf.remaining();
+        int i = 0;
+        while (i < n && buf.get(base + i) >= 0)
+            i++;
+        this.buf = buf;
+        this.base = base;
+        if (i == n) {
+            this.chars = null;
+            this.length = n;
+        } else {
+            this.chars = decode(buf, base, n, i);
+        }
+        return this;
+    }
+
+    /**
+     * Decodes n bytes starting at base, the first ascii of which are
+     * ASCII, into the reused array, setting length.
+     */
+    private char[] decode(ByteBuffer buf, int base, int n, int ascii) {
+        char[] ca = decoded;
+        if (ca == null || ca.length < n)
+            decoded = ca = new char[n];     // never more chars than bytes
+        for (int j = 0; j < ascii; j++)
+            ca[j] = (char)buf.get(base + j);
+        int i = ascii, k = ascii;
+        while (i < n) {
+            int b1 = buf.get(base + i) & 0xff;
+            if (b1 < 0x80) {
+                ca[k++] = (char)b1;
+                i++;
+                continue;
+            }
+            // Sequence length, and the range of the second byte that
+            // excludes overlong forms and values over U+10FFFF
+            int len, lo = 0x80, hi = 0xbf;
+            if (b1 >= 0xc2 && b1 <= 0xdf) {
+                len = 2;
+            } else if (b1 >= 0xe0 && b1 <= 0xef) {
+                len = 3;
+                if (b1 == 0xe0)
+                    lo = 0xa0;
+            } else if (b1 >= 0xf0 && b1 <= 0xf4) {
+                len = 4;
+                if (b1 == 0xf0)
+                    lo = 0x90;
+                else if (b1 == 0xf4)
+                    hi = 0x8f;
+            } else {
+                ca[k++] = '\uFFFD';
+                i++;
+                continue;
+            }
+            int cp = b1 & (0xff >> (len + 1));
+            int j = 1;
+            for (; j < len && i + j < n; j++) {
+                int b = buf.get(base + i + j) & 0xff;
+                if (b < lo || b > hi)
+                    break;
+                cp = (cp << 6) | (b & 0x3f);
+                lo = 0x80;
+                hi = 0xbf;
+            }
+            if (j < len || (cp >= Character.MIN_SURROGATE
+                             && cp <= Character.MAX_SURROGATE)) {
+                ca[k++] = '\uFFFD';          // malformed prefix, or surrogate
+            } else if (cp < 0x10000) {
+                ca[k++] = (char)cp;
+            } else {
+                ca[k++] = Character.highSurrogate(cp);
+                ca[k++] = Character.lowSurrogate(cp);
+            }
+            i += j;
+        }
+        this.length = k;
+        return ca;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public char charAt(int index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("index " + index
+                                                + ", length " + length);
+        char[] ca = chars;
+        return (ca != null) ? ca[index] : (char)buf.get(base + index);
+    }
+
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end)
+            throw new IndexOutOfBoundsException("start " + start + ", end "
+                                                + end + ", length " + length);
+        if (chars != null)
+            return CharBuffer.wrap(chars, start, end - start);
+        return new ByteSequence(buf, base + start, end - start);
+    }
+
+    public String toString() {
+        if (chars != null)
+            return new String(chars, 0, length);
+        char[] ca = new char[length];
+        for (int i = 0; i < length; i++)
+            ca[i] = (char)buf.get(base + i);
+        return new String(ca);
+    }
+}
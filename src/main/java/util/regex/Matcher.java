@@ -25,6 +25,7 @@
 
 package java.util.regex;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /**
@@ -275,10 +276,12 @@ public final class Matcher implements MatchResult {
             throw new IllegalArgumentException("Pattern cannot be null");
         parentPattern = newPattern;
 
-        // Reallocate state storage
+        // Reallocate state storage only if the current arrays are too small
         int parentGroupCount = Math.max(newPattern.capturingGroupCount, 10);
-        groups = new int[parentGroupCount * 2];
-        locals = new int[newPattern.localCount];
+        if (groups.length < parentGroupCount * 2)
+            groups = new int[parentGroupCount * 2];
+        if (locals.length < newPattern.localCount)
+            locals = new int[newPattern.localCount];
         for (int i = 0; i < groups.length; i++)
             groups[i] = -1;
         for (int i = 0; i < locals.length; i++)
@@ -294,6 +297,8 @@ public final class Matcher implements MatchResult {
      * default region, which is its entire character sequence. The anchoring
      * and transparency of this matcher's region boundaries are unaffected.
      *
+     * <p> This method does not allocate.  </p>
+     *
      * @return  This matcher
      */
     public Matcher reset() {
@@ -319,6 +324,9 @@ public final class Matcher implements MatchResult {
      * anchoring and transparency of this matcher's region boundaries are
      * unaffected.
      *
+     * <p> This method does not allocate, so a single matcher may be reused
+     * over many inputs without producing garbage.  </p>
+     *
      * @param  input
      *         The new input character sequence
      *
@@ -329,6 +337,34 @@ public final class Matcher implements MatchResult {
         return reset();
     }
 
+    /**
+     * Resets this matcher with the remaining bytes of the given buffer as
+     * its new input sequence.
+     *
+     * <p> The bytes are decoded as UTF-8, as described in {@link
+     * Pattern#matcher(ByteBuffer)}: ASCII input is matched in place, and
+     * other input is decoded once into a character array.  The buffer's
+     * position and limit are not modified.  If this matcher's input is
+     * already a byte buffer, its view and character array are reused, and
+     * this method does not allocate unless the new input is not ASCII and
+     * is longer than any decoded before.  </p>
+     *
+     * @param  input
+     *         The new input buffer
+     *
+     * @return  This matcher
+     *
+     * @since 1.8
+     */
+    public Matcher reset(ByteBuffer input) {
+        Objects.requireNonNull(input, "input");
+        if (text instanceof ByteSequence)
+            text = ((ByteSequence)text).reset(input);
+        else
+            text = new ByteSequence(input);
+        return reset();
+    }
+
     /**
      * Returns the start index of the previous match.
      *
@@ -575,6 +611,130 @@ public final class Matcher implements MatchResult {
         return getSubSequence(groups[group * 2], groups[group * 2 + 1]).toString();
     }
 
+    /**
+     * Returns a view of the input subsequence matched by the previous match.
+     *
+     * <p> Unlike {@link #group()}, this method does not copy the matched
+     * characters: the returned sequence reads through to this matcher's
+     * input, and is only meaningful for as long as that input is not
+     * modified.  Its <tt>toString</tt> method returns the same string as
+     * {@link #group()}.  </p>
+     *
+     * @return  The (possibly empty) subsequence matched by the previous match
+     *
+     * @throws  IllegalStateException
+     *          If no match has yet been attempted,
+     *          or if the previous match operation failed
+     *
+     * @since 1.8
+     */
+    public CharSequence groupSequence() {
+        return groupSequence(0);
+    }
+
+    /**
+     * Returns a view of the input subsequence captured by the given group
+     * during the previous match operation.
+     *
+     * <p> This method behaves like {@link #group(int)}, except that the
+     * captured characters are not copied; see {@link #groupSequence()}.
+     * Callers that only need the bounds of a group can use
+     * {@link #start(int)} and {@link #end(int)}, which never allocate.  </p>
+     *
+     * @param  group
+     *         The index of a capturing group in this matcher's pattern
+     *
+     * @return  The (possibly empty) subsequence captured by the group
+     *          during the previous match, or <tt>null</tt> if the group
+     *          failed to match part of the input
+     *
+     * @throws  IllegalStateException
+     *          If no match has yet been attempted,
+     *          or if the previous match operation failed
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If there is no capturing group in the pattern
+     *          with the given index
+     *
+     * @since 1.8
+     */
+    public CharSequence groupSequence(int group) {
+        if (first < 0)
+            throw new IllegalStateException("No match found");
+        if (group < 0 || group > groupCount())
+            throw new IndexOutOfBoundsException("No group " + group);
+        if ((groups[group*2] == -1) || (groups[group*2+1] == -1))
+            return null;
+        return new SubSequence(text, groups[group * 2], groups[group * 2 + 1]);
+    }
+
+    /**
+     * Returns a view of the input subsequence captured by the given
+     * <a href="Pattern.html#groupname">named-capturing group</a> during the
+     * previous match operation.
+     *
+     * <p> This method behaves like {@link #group(String)}, except that the
+     * captured characters are not copied; see {@link #groupSequence()}.  </p>
+     *
+     * @param  name
+     *         The name of a named-capturing group in this matcher's pattern
+     *
+     * @return  The (possibly empty) subsequence captured by the named group
+     *          during the previous match, or <tt>null</tt> if the group
+     *          failed to match part of the input
+     *
+     * @throws  IllegalStateException
+     *          If no match has yet been attempted,
+     *          or if the previous match operation failed
+     *
+     * @throws  IllegalArgumentException
+     *          If there is no capturing group in the pattern
+     *          with the given name
+     *
+     * @since 1.8
+     */
+    public CharSequence groupSequence(String name) {
+        int group = getMatchedGroupIndex(name);
+        if ((groups[group*2] == -1) || (groups[group*2+1] == -1))
+            return null;
+        return new SubSequence(text, groups[group * 2], groups[group * 2 + 1]);
+    }
+
+    /**
+     * A read-through view of a range of a character sequence.
+     */
+    private static final class SubSequence implements CharSequence {
+        private final CharSequence seq;
+        private final int start, end;
+
+        SubSequence(CharSequence seq, int start, int end) {
+            this.seq = seq;
+            this.start = start;
+            this.end = end;
+        }
+
+        public int length() {
+            return end - start;
+        }
+
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start)
+                throw new IndexOutOfBoundsException("index " + index);
+            return seq.charAt(start + index);
+        }
+
+        public CharSequence subSequence(int s, int e) {
+            if (s < 0 || e > end - start || s > e)
+                throw new IndexOutOfBoundsException("start " + s + ", end " + e);
+            return new SubSequence(seq, start + s, start + e);
+        }
+
+        public String toString() {
+            return seq.subSequence(start, end).toString();
+        }
+    }
+
+
     /**
      * Returns the number of capturing groups in this matcher's pattern.
      *
@@ -1245,7 +1405,9 @@ public final class Matcher implements MatchResult {
         for (int i = 0; i < groups.length; i++)
             groups[i] = -1;
         acceptMode = NOANCHOR;
-        boolean result = parentPattern.root.match(this, from, text);
+        Pattern.LazyDFA dfa = parentPattern.dfa;
+        boolean result = (dfa == null || dfa.mayMatch(this, from, true)) &&
+            parentPattern.root.match(this, from, text);
         if (!result)
             this.first = -1;
         this.oldLast = this.last;
@@ -1267,7 +1429,9 @@ public final class Matcher implements MatchResult {
         for (int i = 0; i < groups.length; i++)
             groups[i] = -1;
         acceptMode = anchor;
-        boolean result = parentPattern.matchRoot.match(this, from, text);
+        Pattern.LazyDFA dfa = parentPattern.dfa;
+        boolean result = (dfa == null || dfa.mayMatch(this, from, false)) &&
+            parentPattern.matchRoot.match(this, from, text);
         if (!result)
             this.first = -1;
         this.oldLast = this.last;
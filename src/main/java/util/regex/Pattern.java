@@ -25,6 +25,7 @@
 
 package java.util.regex;
 
+import java.nio.ByteBuffer;
 import java.text.Normalizer;
 import java.util.Locale;
 import java.util.Iterator;
@@ -963,6 +964,18 @@ public final class Pattern
      */
     transient Node matchRoot;
 
+    /**
+     * The lazy DFA used to reject non-matching input in linear time, or
+     * null if the pattern is not suitable for one.
+     */
+    transient LazyDFA dfa;
+
+    /**
+     * A set of literals at least one of which occurs in every match, or
+     * null if none are known; used by PatternSet to prefilter.
+     */
+    transient int[][] requiredLiterals;
+
     /**
      * Temporary storage used by parsing pattern slice.
      */
@@ -1054,6 +1067,100 @@ public final class Pattern
         return new Pattern(regex, flags);
     }
 
+    /**
+     * The name under which the {@link PatternCacheMXBean} is registered
+     * with the platform <tt>MBeanServer</tt>.
+     *
+     * @since 1.8
+     */
+    public static final String CACHE_MXBEAN_NAME =
+        "java.util.regex:type=PatternCache";
+
+    /**
+     * Returns a compiled pattern for the given regular expression, taken
+     * from a shared cache when possible.
+     *
+     * <p> An invocation of this convenience method of the form
+     *
+     * <blockquote><pre>
+     * Pattern.cached(regex)</pre></blockquote>
+     *
+     * behaves in exactly the same way as the expression
+     *
+     * <blockquote><pre>
+     * Pattern.cached(regex, 0)</pre></blockquote>
+     *
+     * @param  regex
+     *         The expression to be compiled
+     *
+     * @return  the compiled pattern
+     *
+     * @throws  PatternSyntaxException
+     *          If the expression's syntax is invalid
+     *
+     * @since 1.8
+     */
+    public static Pattern cached(String regex) {
+        return PatternCache.INSTANCE.get(regex, 0);
+    }
+
+    /**
+     * Returns a compiled pattern for the given regular expression and
+     * flags, taken from a shared cache when possible.
+     *
+     * <p> Since patterns are immutable, a cached pattern may be shared by
+     * any number of callers; this method is meant for code that compiles
+     * the same expressions over and over.  The cache is bounded, and
+     * evicts its least recently used patterns when full.  Its maximum
+     * size is read from the system property
+     * <tt>java.util.regex.Pattern.cacheSize</tt> when this class is
+     * initialized (default 256); a size of zero disables it, in which case
+     * this method is equivalent to {@link #compile(String,int)}.  The
+     * cache is also used by {@link #matches(String,CharSequence)} and by
+     * {@link String#matches}, {@link String#replaceFirst},
+     * {@link String#replaceAll} and {@link String#split(String,int)}, and
+     * can be monitored through {@link #getCacheMXBean}.  </p>
+     *
+     * @param  regex
+     *         The expression to be compiled
+     *
+     * @param  flags
+     *         Match flags, as for {@link #compile(String,int)}
+     *
+     * @return  the compiled pattern
+     *
+     * @throws  IllegalArgumentException
+     *          If bit values other than those corresponding to the defined
+     *          match flags are set in <tt>flags</tt>
+     *
+     * @throws  PatternSyntaxException
+     *          If the expression's syntax is invalid
+     *
+     * @since 1.8
+     */
+    public static Pattern cached(String regex, int flags) {
+        return PatternCache.INSTANCE.get(regex, flags);
+    }
+
+    /**
+     * Returns the management interface of the shared pattern cache.  The
+     * first call registers the returned MXBean with the
+     * {@linkplain java.lang.management.ManagementFactory#getPlatformMBeanServer
+     * platform <tt>MBeanServer</tt>} under the name
+     * {@link #CACHE_MXBEAN_NAME}; registration is best-effort, and the
+     * MXBean remains usable through this method if it fails.
+     *
+     * @return the management interface of the pattern cache
+     *
+     * @see #cached(String,int)
+     * @since 1.8
+     */
+    public static PatternCacheMXBean getCacheMXBean() {
+        PatternCache c = PatternCache.INSTANCE;
+        c.register();
+        return c;
+    }
+
     /**
      * Returns the regular expression from which this pattern was compiled.
      *
@@ -1094,6 +1201,35 @@ public final class Pattern
         return m;
     }
 
+    /**
+     * Creates a matcher that will match the remaining bytes of the given
+     * buffer, decoded as UTF-8, against this pattern, without decoding them
+     * into a string.
+     *
+     * <p> If the bytes are all ASCII they are read in place, one character
+     * per byte, and the indexes reported by the matcher are byte offsets
+     * relative to the buffer's position at the time of this call.
+     * Otherwise they are decoded once into a character array owned by the
+     * matcher, and the indexes reported are those of the decoded
+     * characters; malformed input is replaced by <tt>'&#92;uFFFD'</tt>, as
+     * by the standard UTF-8 decoder.  </p>
+     *
+     * <p> The buffer's position and limit are never modified.  A matcher
+     * created by this method can be rebound to another buffer by
+     * {@link Matcher#reset(ByteBuffer)}, which does not allocate unless the
+     * new input is not ASCII and is longer than any decoded before.  </p>
+     *
+     * @param  input
+     *         The buffer to be matched
+     *
+     * @return  A new matcher for this pattern
+     *
+     * @since 1.8
+     */
+    public Matcher matcher(ByteBuffer input) {
+        return matcher(new ByteSequence(input));
+    }
+
     /**
      * Returns this pattern's match flags.
      *
@@ -1130,7 +1266,7 @@ public final class Pattern
      *          If the expression's syntax is invalid
      */
     public static boolean matches(String regex, CharSequence input) {
-        Pattern p = Pattern.compile(regex);
+        Pattern p = PatternCache.INSTANCE.get(regex, 0);
         Matcher m = p.matcher(input);
         return m.matches();
     }
@@ -1714,10 +1850,21 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
             }
         } else if (matchRoot instanceof Begin || matchRoot instanceof First) {
             root = matchRoot;
+        } else if (hasSupplementary) {
+            root = new StartS(matchRoot);
         } else {
-            root = hasSupplementary ? new StartS(matchRoot) : new Start(matchRoot);
+            root = LiteralStart.optimize(matchRoot);
+            if (root == null)
+                root = new Start(matchRoot);
         }
 
+        // Record the literals that every match must contain, if any
+        if (!hasSupplementary)
+            requiredLiterals = requiredLiterals(matchRoot);
+
+        // Select the lazy DFA engine for patterns it can handle
+        dfa = has(LITERAL) ? null : LazyDFA.build(this);
+
         // Release temporary storage
         temp = null;
         buffer = null;
@@ -3515,6 +3662,183 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
         }
     }
 
+    /**
+     * A Start that only tries the positions at which a match can begin,
+     * for patterns from which required literals can be extracted: a set
+     * of prefixes, one of which every match begins with, and/or a factor
+     * that every match contains.  Candidate positions are found with an
+     * Aho-Corasick scan for the prefixes, and the search fails as soon as
+     * the factor no longer occurs in the rest of the region.
+     */
+    static final class LiteralStart extends Start {
+        final AhoCorasick prefixes;     // or null
+        final AhoCorasick factor;       // or null
+
+        LiteralStart(Node node, int[][] prefixes, int[] factor) {
+            super(node);
+            this.prefixes = (prefixes == null) ? null : new AhoCorasick(prefixes);
+            this.factor = (factor == null) ? null :
+                new AhoCorasick(new int[][] { factor });
+        }
+
+        /**
+         * Returns a LiteralStart for the given match root, or null if no
+         * useful literals can be extracted from it.
+         */
+        static LiteralStart optimize(Node node) {
+            int[][] prefixes = prefixLiterals(node);
+            int[] factor = requiredFactor(node);
+            if (prefixes != null && factor != null && prefixes.length == 1 &&
+                Arrays.equals(prefixes[0], factor))
+                factor = null;      // implied by the prefix
+            if (prefixes == null && factor == null)
+                return null;
+            return new LiteralStart(node, prefixes, factor);
+        }
+
+        boolean match(Matcher matcher, int i, CharSequence seq) {
+            int to = matcher.to;
+            int guard = to - minLength;
+            int from = i;
+            int factorAt = -1;
+            while (i <= guard) {
+                int s = (prefixes == null) ? i : prefixes.indexOf(seq, i, to);
+                if (s < 0 || s > guard)
+                    break;
+                if (factor != null && factorAt < s &&
+                    (factorAt = factor.indexOf(seq, s, to)) < 0)
+                    break;
+                if (next.match(matcher, s, seq)) {
+                    matcher.first = s;
+                    matcher.groups[0] = matcher.first;
+                    matcher.groups[1] = matcher.last;
+                    if (s > from && !matcher.hitEnd)
+                        matcher.hitEnd = skippedHitEnd(seq, from, s, to);
+                    return true;
+                }
+                i = s + 1;
+            }
+            matcher.hitEnd = true;
+            return false;
+        }
+
+        /**
+         * Returns true if Start, trying the skipped positions [from, s),
+         * would have hit the end: that is, if the rest of the region at
+         * one of them is a proper prefix of a prefix literal.
+         */
+        private boolean skippedHitEnd(CharSequence seq, int from, int s, int to) {
+            if (prefixes == null)
+                return false;
+            for (int p = Math.max(from, to - prefixes.maxLength() + 1); p < s; p++) {
+                if (prefixes.isPartialAt(seq, p, to))
+                    return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns the literals one of which every match of the node chain
+     * starting at node begins with, or null if there is no such set of
+     * reasonable size.  Only case sensitive BMP literals are considered.
+     */
+    static int[][] prefixLiterals(Node node) {
+        ArrayList<int[]> list = new ArrayList<>();
+        return addPrefixLiterals(node, list, 0) ?
+            list.toArray(new int[list.size()][]) : null;
+    }
+
+    private static boolean addPrefixLiterals(Node node, ArrayList<int[]> list,
+                                             int depth) {
+        while (node instanceof GroupHead)
+            node = node.next;
+        if (node == null || depth > 4 || list.size() >= 64)
+            return false;
+        Class<?> k = node.getClass();
+        if (k == Slice.class) {
+            list.add(((Slice)node).buffer);
+            return true;
+        }
+        if (k == Single.class) {
+            list.add(new int[] { ((Single)node).c });
+            return true;
+        }
+        if (node instanceof Branch) {
+            Branch b = (Branch)node;
+            for (int j = 0; j < b.size; j++) {
+                if (b.atoms[j] == null ||
+                    !addPrefixLiterals(b.atoms[j], list, depth + 1))
+                    return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the longest case sensitive BMP literal that every match of
+     * the node chain starting at node contains, or null.  Only literals
+     * on the main path of the chain, outside any alternation, repetition
+     * or lookaround, are considered.
+     */
+    static int[] requiredFactor(Node node) {
+        int[] best = null;
+        for (int steps = 0; node != null && steps < 1000; steps++) {
+            if (node.getClass() == Slice.class) {
+                int[] b = ((Slice)node).buffer;
+                if (best == null || b.length > best.length)
+                    best = b;
+                node = node.next;
+            } else if (node.getClass() == Single.class) {
+                if (best == null)
+                    best = new int[] { ((Single)node).c };
+                node = node.next;
+            } else if (node instanceof Branch) {
+                node = ((Branch)node).conn.next;
+            } else if (node instanceof Prolog) {
+                node = ((Prolog)node).loop.next;
+            } else if (node instanceof CharProperty ||
+                       node instanceof SliceNode ||
+                       node instanceof GroupHead ||
+                       node instanceof GroupTail ||
+                       node instanceof Ques ||
+                       node instanceof Curly ||
+                       node instanceof GroupCurly ||
+                       node instanceof Begin ||
+                       node instanceof Caret ||
+                       node instanceof UnixCaret ||
+                       node instanceof Dollar ||
+                       node instanceof UnixDollar ||
+                       node instanceof Bound) {
+                node = node.next;
+            } else {
+                break;      // LastNode, or a node not known to be safe
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the more selective of the prefix set and the required
+     * factor of the given match root, as a set of literals at least one
+     * of which occurs in every match, or null.
+     */
+    static int[][] requiredLiterals(Node node) {
+        int[][] prefixes = prefixLiterals(node);
+        int[] factor = requiredFactor(node);
+        if (factor == null)
+            return prefixes;
+        if (prefixes != null) {
+            int min = Integer.MAX_VALUE;
+            for (int[] lit : prefixes)
+                min = Math.min(min, lit.length);
+            if (min > factor.length)
+                return prefixes;
+        }
+        return new int[][] { factor };
+    }
+
     /**
      * Node to anchor at the beginning of input. This object implements the
      * match for a \A sequence, and the caret anchor will use this if not in
@@ -5539,6 +5863,513 @@ NEXT:       while (i <= last) {
         }
     }
 
+    /**
+     * A lazily constructed DFA, used by the matcher to reject inputs
+     * that have no match in time linear in the length of the input,
+     * before running the backtracking node tree.
+     *
+     * <p>A DFA is only built for patterns whose node tree consists of
+     * character properties, case sensitive and insensitive BMP slices,
+     * groups, alternations, and greedy or reluctant quantifiers, with an
+     * optional leading {@code Begin}; that is, patterns without back
+     * references, lookaround, boundaries, possessive quantifiers or
+     * independent groups, whose language therefore does not depend on
+     * the backtracking order.  It is further only built for patterns
+     * that contain a choice point, since the backtracker is already
+     * linear for the others.
+     *
+     * <p>The node tree is first translated into a Thompson NFA, unrolling
+     * counted repetitions.  DFA states (sets of NFA states) and their
+     * transitions are then computed on demand while scanning, and cached
+     * up to MAX_DFA_STATES, after which the cache is flushed and rebuilt,
+     * so each input character costs at most one step over the NFA.
+     * Transitions on ASCII characters are cached in arrays; others are
+     * cached in per-state hash tables.  Cached transitions are followed
+     * without locking; the cache lock is only taken to compute a new
+     * one.  The scan gives up, deferring to the
+     * backtracker, on input containing surrogates, since BMP and
+     * supplementary character properties step over those differently.
+     *
+     * <p>Instances are shared by all matchers of a pattern.  DFA states
+     * are immutable once published, except for their transition caches,
+     * which are only written under the cache lock, and whose elements
+     * are read racily (benignly, since states have only final fields,
+     * and a missing transition is recomputed under the lock).
+     */
+    static final class LazyDFA {
+        // NFA state ops
+        static final int CHAR  = 0;    // code point equal to arg
+        static final int CHARI = 1;    // as SliceI
+        static final int CHARU = 2;    // as SliceU
+        static final int PROP  = 3;    // satisfies prop
+        static final int SPLIT = 4;    // epsilon to out1 and out2
+        static final int MATCH = 5;
+
+        // Scan modes
+        static final int MATCHES    = 0; // anchored, must consume all
+        static final int LOOKING_AT = 1; // anchored, any prefix
+        static final int FIND       = 2; // unanchored
+
+        static final int MAX_NFA_STATES = 4096;
+        static final int MAX_DFA_STATES = 2048;
+        static final int MAX_DEPTH      = 1000;
+
+        final int[] op, arg, out1, out2;
+        final CharProperty[] props;
+        final int start;
+        final boolean anchored;   // pattern begins with Begin
+        final Cache anchoredCache, floatingCache;
+
+        /**
+         * Thrown by the builder when a node cannot be translated.
+         */
+        static final class Unsupported extends Exception {
+            private static final long serialVersionUID = 5366372470185406372L;
+            Unsupported() { super(null, null, false, false); }
+        }
+
+        /**
+         * Returns a DFA for the given compiled pattern, or null if the
+         * pattern is not suitable.
+         */
+        static LazyDFA build(Pattern p) {
+            if (p.hasSupplementary)
+                return null;
+            Node n = p.matchRoot;
+            boolean anchored = false;
+            if (n instanceof Begin) {
+                anchored = true;
+                n = n.next;
+            } else if (!(p.root instanceof Start) || p.root instanceof StartS) {
+                return null;
+            }
+            Builder b = new Builder();
+            try {
+                int s = b.build(n, null, -1, 0);
+                if (!b.hasChoice)
+                    return null;
+                return new LazyDFA(b, s, anchored);
+            } catch (Unsupported e) {
+                return null;
+            }
+        }
+
+        private LazyDFA(Builder b, int start, boolean anchored) {
+            int n = b.count;
+            this.op = Arrays.copyOf(b.op, n);
+            this.arg = Arrays.copyOf(b.arg, n);
+            this.out1 = Arrays.copyOf(b.out1, n);
+            this.out2 = Arrays.copyOf(b.out2, n);
+            this.props = Arrays.copyOf(b.props, n);
+            this.start = start;
+            this.anchored = anchored;
+            this.anchoredCache = new Cache(this, false);
+            this.floatingCache = new Cache(this, true);
+        }
+
+        /**
+         * Translates node trees into NFA states.  Fragments are built
+         * back to front: build returns the entry state of the chain
+         * starting at node n, continuing to follow when the chain
+         * reaches node end.  Each nested call to build passes a depth
+         * one greater than its caller's, so the recursion is at most
+         * MAX_DEPTH calls deep; deeper node trees are Unsupported.
+         */
+        static final class Builder {
+            int[] op = new int[64], arg = new int[64];
+            int[] out1 = new int[64], out2 = new int[64];
+            CharProperty[] props = new CharProperty[64];
+            int count;
+            boolean hasChoice;
+
+            int add(int o, int a, CharProperty p, int o1, int o2)
+                throws Unsupported {
+                int i = count;
+                if (i >= MAX_NFA_STATES)
+                    throw new Unsupported();
+                if (i == op.length) {
+                    int len = i << 1;
+                    op = Arrays.copyOf(op, len);
+                    arg = Arrays.copyOf(arg, len);
+                    out1 = Arrays.copyOf(out1, len);
+                    out2 = Arrays.copyOf(out2, len);
+                    props = Arrays.copyOf(props, len);
+                }
+                op[i] = o; arg[i] = a; props[i] = p;
+                out1[i] = o1; out2[i] = o2;
+                count = i + 1;
+                return i;
+            }
+
+            int build(Node n, Node end, int follow, int depth)
+                throws Unsupported {
+                if (n == null || depth > MAX_DEPTH)
+                    throw new Unsupported();
+                if (n == end)
+                    return follow;
+                int d = depth + 1;
+                if (n instanceof LastNode) {
+                    if (end != null)
+                        throw new Unsupported();
+                    return add(MATCH, 0, null, -1, -1);
+                }
+                if (n instanceof CharProperty) {
+                    int next = build(n.next, end, follow, d);
+                    return add(PROP, 0, (CharProperty)n, next, -1);
+                }
+                Class<?> k = n.getClass();
+                if (k == Slice.class || k == SliceS.class ||
+                    k == SliceI.class || k == SliceU.class) {
+                    int o = (k == SliceI.class) ? CHARI :
+                        (k == SliceU.class) ? CHARU : CHAR;
+                    int[] buf = ((SliceNode)n).buffer;
+                    int s = build(n.next, end, follow, d);
+                    for (int j = buf.length - 1; j >= 0; j--)
+                        s = add(o, buf[j], null, s, -1);
+                    return s;
+                }
+                if (n instanceof GroupHead || n instanceof GroupTail ||
+                    n instanceof BranchConn)
+                    return build(n.next, end, follow, d);
+                if (n instanceof Branch) {
+                    Branch br = (Branch)n;
+                    hasChoice = true;
+                    int f = build(br.conn.next, end, follow, d);
+                    int s = -1;
+                    for (int j = br.size - 1; j >= 0; j--) {
+                        Node atom = br.atoms[j];
+                        int a = (atom == null) ? f : build(atom, br.conn, f, d);
+                        s = (s < 0) ? a : add(SPLIT, 0, null, a, s);
+                    }
+                    return s;
+                }
+                if (n instanceof Ques) {
+                    Ques q = (Ques)n;
+                    if (q.type != GREEDY && q.type != LAZY)
+                        throw new Unsupported();
+                    hasChoice = true;
+                    int f = build(q.next, end, follow, d);
+                    int a = build(q.atom, accept, f, d);
+                    return add(SPLIT, 0, null, a, f);
+                }
+                if (n instanceof Curly) {
+                    Curly c = (Curly)n;
+                    if (c.type != GREEDY && c.type != LAZY)
+                        throw new Unsupported();
+                    int f = build(c.next, end, follow, d);
+                    return repeat(c.atom, accept, c.cmin, c.cmax, f, d);
+                }
+                if (n instanceof GroupCurly) {
+                    GroupCurly c = (GroupCurly)n;
+                    if (c.type != GREEDY && c.type != LAZY)
+                        throw new Unsupported();
+                    int f = build(c.next, end, follow, d);
+                    return repeat(c.atom, accept, c.cmin, c.cmax, f, d);
+                }
+                if (n instanceof Prolog) {
+                    Loop loop = ((Prolog)n).loop;
+                    int f = build(loop.next, end, follow, d);
+                    return repeat(loop.body, loop, loop.cmin, loop.cmax, f, d);
+                }
+                throw new Unsupported();
+            }
+
+            /**
+             * Builds cmin copies of atom followed by up to cmax - cmin
+             * optional copies, or by a loop if cmax is MAX_REPS.
+             */
+            int repeat(Node atom, Node end, int cmin, int cmax, int follow,
+                       int depth) throws Unsupported {
+                if (cmin > MAX_NFA_STATES ||
+                    (cmax != MAX_REPS && cmax - cmin > MAX_NFA_STATES))
+                    throw new Unsupported();
+                if (cmax != cmin)
+                    hasChoice = true;
+                int s;
+                if (cmax == MAX_REPS) {
+                    s = add(SPLIT, 0, null, -1, follow);
+                    int a = build(atom, end, s, depth); // may grow out1
+                    out1[s] = a;
+                } else {
+                    s = follow;
+                    for (int j = cmax - cmin; j > 0; j--)
+                        s = add(SPLIT, 0, null, build(atom, end, s, depth),
+                                follow);
+                }
+                for (int j = cmin; j > 0; j--)
+                    s = build(atom, end, s, depth);
+                return s;
+            }
+        }
+
+        /**
+         * A DFA state: the set of consuming and match NFA states reached
+         * after epsilon closure.
+         */
+        static final class DState {
+            final int[] nfa;              // sorted NFA state indices
+            final int hash;
+            final boolean match;
+            final DState[] next = new DState[128];
+            volatile Wide wide;           // written under cache lock
+
+            DState(int[] nfa, boolean match) {
+                this.nfa = nfa;
+                this.hash = Arrays.hashCode(nfa);
+                this.match = match;
+            }
+            public int hashCode() { return hash; }
+            public boolean equals(Object o) {
+                return (o instanceof DState) &&
+                    Arrays.equals(nfa, ((DState)o).nfa);
+            }
+
+            /**
+             * Returns the cached transition on the non-ASCII char ch,
+             * or null if there is none yet.
+             */
+            DState wideNext(char ch) {
+                Wide w = wide;
+                return (w == null) ? null : w.get(ch);
+            }
+        }
+
+        /**
+         * An open-addressed table of transitions on non-ASCII chars.
+         * Entries are only added, under the cache lock, and each slot is
+         * written once, so readers probe it without locking: a reader
+         * that sees a slot's key before its state finds no transition,
+         * and computes it under the lock.  A table is never more than
+         * half full, and is replaced by a larger copy rather than grown
+         * in place.
+         */
+        static final class Wide {
+            final char[] keys;            // 0 for an empty slot
+            final DState[] states;
+            int size;                     // guarded by cache lock
+
+            Wide(int capacity) {
+                keys = new char[capacity];
+                states = new DState[capacity];
+            }
+
+            DState get(char ch) {
+                char[] ks = keys;
+                int m = ks.length - 1;
+                for (int i = (ch ^ (ch >>> 7)) & m; ; i = (i + 1) & m) {
+                    char k = ks[i];
+                    if (k == ch)
+                        return states[i];
+                    if (k == 0)
+                        return null;
+                }
+            }
+
+            void put(char ch, DState t) {
+                int m = keys.length - 1;
+                int i = (ch ^ (ch >>> 7)) & m;
+                while (keys[i] != 0)
+                    i = (i + 1) & m;
+                states[i] = t;
+                keys[i] = ch;
+                size++;
+            }
+
+            /**
+             * Returns a table with the entries of w, if any, and room
+             * for at least one more.
+             */
+            static Wide withRoom(Wide w) {
+                if (w != null && (w.size + 1) * 2 <= w.keys.length)
+                    return w;
+                Wide nw = new Wide((w == null) ? 8 : w.keys.length << 1);
+                if (w != null) {
+                    for (int i = 0; i < w.keys.length; i++) {
+                        if (w.keys[i] != 0)
+                            nw.put(w.keys[i], w.states[i]);
+                    }
+                }
+                return nw;
+            }
+        }
+
+        /**
+         * The DFA states of one scan mode.  In floating mode every state
+         * also contains the start state, as if the pattern were prefixed
+         * by a reluctant {@code .*}.
+         */
+        static final class Cache {
+            final LazyDFA dfa;
+            final boolean floating;
+            final DState dead;
+            volatile DState startState;
+            HashMap<DState, DState> states = new HashMap<>();
+            int[] mark;       // generation marks for closure, guarded by this
+            int generation;
+
+            Cache(LazyDFA dfa, boolean floating) {
+                this.dfa = dfa;
+                this.floating = floating;
+                this.dead = new DState(new int[0], false);
+                this.mark = new int[dfa.op.length];
+                synchronized (this) {
+                    startState = closure(new int[] { dfa.start }, 1);
+                }
+            }
+
+            /**
+             * Returns the state reached from s on ch, computing and
+             * caching it if necessary.
+             */
+            synchronized DState step(DState s, char ch) {
+                DState t = (ch < 128) ? s.next[ch] : s.wideNext(ch);
+                if (t != null)
+                    return t;
+                LazyDFA d = dfa;
+                int[] nfa = s.nfa;
+                int[] moved = new int[nfa.length + 1];
+                int n = 0;
+                for (int x : nfa) {
+                    if (d.accepts(x, ch))
+                        moved[n++] = d.out1[x];
+                }
+                if (floating)
+                    moved[n++] = d.start;
+                t = (n == 0) ? dead : closure(moved, n);
+                if (ch < 128)
+                    s.next[ch] = t;
+                else {
+                    Wide w = s.wide, nw = Wide.withRoom(w);
+                    nw.put(ch, t);
+                    if (nw != w)
+                        s.wide = nw;        // publish filled copy
+                }
+                return t;
+            }
+
+            /**
+             * Returns the state for the epsilon closure of the given
+             * NFA states, reusing a cached equal state if present.
+             */
+            private DState closure(int[] seeds, int n) {
+                LazyDFA d = dfa;
+                int gen = ++generation;
+                if (gen == 0) {               // wrapped; reset marks
+                    Arrays.fill(mark, 0);
+                    gen = generation = 1;
+                }
+                int[] stack = new int[d.op.length];
+                int[] set = new int[d.op.length];
+                int sp = 0, size = 0;
+                boolean match = false;
+                for (int i = n - 1; i >= 0; i--)
+                    stack[sp++] = seeds[i];
+                while (sp > 0) {
+                    int x = stack[--sp];
+                    if (mark[x] == gen)
+                        continue;
+                    mark[x] = gen;
+                    int o = d.op[x];
+                    if (o == SPLIT) {
+                        stack[sp++] = d.out2[x];
+                        stack[sp++] = d.out1[x];
+                    } else {
+                        if (o == MATCH)
+                            match = true;
+                        set[size++] = x;
+                    }
+                }
+                if (size == 0)
+                    return dead;
+                int[] nfa = Arrays.copyOf(set, size);
+                Arrays.sort(nfa);
+                DState s = new DState(nfa, match);
+                DState e = states.get(s);
+                if (e != null)
+                    return e;
+                if (states.size() >= MAX_DFA_STATES) {
+                    // Flush; states still referenced by running scans
+                    // remain valid, and become garbage when they finish.
+                    states = new HashMap<>();
+                    DState st = new DState(startState.nfa, startState.match);
+                    states.put(st, st);
+                    startState = st;
+                }
+                states.put(s, s);
+                return s;
+            }
+        }
+
+        /**
+         * Returns true if NFA state x consumes ch.
+         */
+        final boolean accepts(int x, char ch) {
+            switch (op[x]) {
+            case CHAR:
+                return arg[x] == ch;
+            case CHARI:
+                return arg[x] == ch || arg[x] == ASCII.toLower(ch);
+            case CHARU:
+                return arg[x] == ch ||
+                    arg[x] == Character.toLowerCase(Character.toUpperCase(ch));
+            case PROP:
+                return props[x].isSatisfiedBy(ch);
+            default:
+                return false;
+            }
+        }
+
+        /**
+         * Returns false if the given matcher certainly has no match
+         * starting at index from in the given mode, setting
+         * matcher.hitEnd as the backtracker would have; otherwise
+         * returns true, leaving the matcher untouched.
+         *
+         * @param search true for a search (find), false for an anchored
+         * match, in which case the matcher's acceptMode determines
+         * whether the match must extend to the end of the region
+         */
+        boolean mayMatch(Matcher matcher, int from, boolean search) {
+            int mode;
+            if (anchored) {
+                int anchor = matcher.anchoringBounds ? matcher.from : 0;
+                if (from != anchor)
+                    return true;    // Begin fails fast by itself
+                mode = (!search && matcher.acceptMode == Matcher.ENDANCHOR) ?
+                    MATCHES : LOOKING_AT;
+            } else if (search)
+                mode = FIND;
+            else
+                mode = (matcher.acceptMode == Matcher.ENDANCHOR) ?
+                    MATCHES : LOOKING_AT;
+            Cache c = (mode == FIND) ? floatingCache : anchoredCache;
+            CharSequence seq = matcher.text;
+            int to = matcher.to;
+            DState dead = c.dead;
+            DState s = c.startState;
+            for (int i = from; ; i++) {
+                if (s.match && mode != MATCHES)
+                    return true;
+                if (s == dead) {
+                    matcher.hitEnd = (mode == FIND);
+                    return false;
+                }
+                if (i >= to)
+                    break;
+                char ch = seq.charAt(i);
+                if (Character.isSurrogate(ch))
+                    return true;
+                DState t = (ch < 128) ? s.next[ch] : s.wideNext(ch);
+                s = (t != null) ? t : c.step(s, ch);
+            }
+            if (s.match)
+                return true;
+            // A live state at the end means some path tried to read past it
+            matcher.hitEnd = true;
+            return false;
+        }
+    }
+
 ///////////////////////////////////////////////////////////////////////////////
 ///////////////////////////////////////////////////////////////////////////////
 
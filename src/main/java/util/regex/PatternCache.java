@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+
+package java.util.regex;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache of compiled patterns, keyed by expression and flags.
+ *
+ * <p> Lookups are lock-free reads of a {@link ConcurrentHashMap}.  Recency
+ * is tracked approximately: a logical clock advances on every miss, and a
+ * hit stamps its entry with the current clock value.  When an insertion
+ * takes the cache over its maximum size, one thread at a time evicts the
+ * entries with the oldest stamps.  Eviction scans the whole table, which
+ * is cheap compared to the compilation that caused it.
+ *
+ * <p> The maximum size is read from the system property
+ * <tt>java.util.regex.Pattern.cacheSize</tt> (default 256); a value of
+ * zero disables the cache.
+ */
+final class PatternCache implements PatternCacheMXBean {
+
+    /**
+     * The shared instance.
+     */
+    static final PatternCache INSTANCE = new PatternCache(maximumSize());
+
+    private static int maximumSize() {
+        String s = java.security.AccessController.doPrivileged(
+            new sun.security.action.GetPropertyAction(
+                "java.util.regex.Pattern.cacheSize"));
+        if (s != null) {
+            try {
+                return Math.max(Integer.parseInt(s.trim()), 0);
+            } catch (NumberFormatException ignore) {
+            }
+        }
+        return 256;
+    }
+
+    /**
+     * Key for patterns compiled with non-zero flags; patterns compiled
+     * without flags are keyed by their expression string alone.
+     */
+    private static final class Key {
+        final String regex;
+        final int flags;
+
+        Key(String regex, int flags) {
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        public int hashCode() {
+            return regex.hashCode() * 31 + flags;
+        }
+
+        public boolean equals(Object o) {
+            if (!(o instanceof Key))
+                return false;
+            Key k = (Key)o;
+            return flags == k.flags && regex.equals(k.regex);
+        }
+    }
+
+    private static final class Entry {
+        final Pattern pattern;
+        volatile long stamp;
+
+        Entry(Pattern pattern, long stamp) {
+            this.pattern = pattern;
+            this.stamp = stamp;
+        }
+    }
+
+    private final int maxSize;
+    private final ConcurrentHashMap<Object, Entry> map;
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private boolean registered; // registration attempted; guarded by this
+
+    PatternCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.map = new ConcurrentHashMap<>(maxSize > 0 ? maxSize : 1);
+    }
+
+    /**
+     * Returns a compiled pattern for the given expression and flags,
+     * compiling and caching it if necessary.
+     */
+    Pattern get(String regex, int flags) {
+        if (maxSize == 0)
+            return Pattern.compile(regex, flags);
+        Object key = (flags == 0) ? regex : new Key(regex, flags);
+        Entry e = map.get(key);
+        if (e != null) {
+            long c = clock.get();
+            if (e.stamp != c)
+                e.stamp = c;
+            hits.increment();
+            return e.pattern;
+        }
+        misses.increment();
+        // Compile outside the map so that a syntax error is thrown
+        // to the caller and nothing is cached
+        Pattern p = Pattern.compile(regex, flags);
+        Entry prev = map.putIfAbsent(key, new Entry(p, clock.incrementAndGet()));
+        if (prev != null)
+            return prev.pattern;
+        if (map.size() > maxSize)
+            evict();
+        return p;
+    }
+
+    /**
+     * Removes the least recently used entries until the cache is within
+     * its maximum size.  Does nothing if another thread is evicting.
+     */
+    private void evict() {
+        while (evictLock.tryLock()) {
+            try {
+                int excess;
+                while ((excess = map.size() - maxSize) > 0)
+                    evictOldest(Math.min(excess, 16));
+            } finally {
+                evictLock.unlock();
+            }
+            // Retry if insertions raced with the final size check above
+            if (map.size() <= maxSize)
+                break;
+        }
+    }
+
+    /**
+     * Removes up to n of the entries with the oldest stamps.
+     */
+    private void evictOldest(int n) {
+        long[] oldest = new long[n];
+        Arrays.fill(oldest, Long.MAX_VALUE);
+        for (Entry e : map.values()) {
+            long s = e.stamp;
+            if (s < oldest[n - 1]) {
+                int i = n - 1;
+                while (i > 0 && oldest[i - 1] > s) {
+                    oldest[i] = oldest[i - 1];
+                    --i;
+                }
+                oldest[i] = s;
+            }
+        }
+        long limit = oldest[n - 1];
+        int removed = 0;
+        Iterator<Map.Entry<Object, Entry>> it = map.entrySet().iterator();
+        while (removed < n && it.hasNext()) {
+            if (it.next().getValue().stamp <= limit) {
+                it.remove();
+                ++removed;
+            }
+        }
+        evictions.add(removed);
+    }
+
+    /**
+     * Registers with the platform MBeanServer on the first call, ignoring
+     * failures.
+     */
+    synchronized void register() {
+        if (registered)
+            return;
+        registered = true;
+        try {
+            javax.management.ObjectName on =
+                new javax.management.ObjectName(Pattern.CACHE_MXBEAN_NAME);
+            java.security.AccessController.doPrivileged
+                (new java.security.PrivilegedExceptionAction<Void>() {
+                    public Void run() throws Exception {
+                        java.lang.management.ManagementFactory
+                            .getPlatformMBeanServer()
+                            .registerMBean(PatternCache.this, on);
+                        return null;
+                    }});
+        } catch (Exception ignore) {
+        }
+    }
+
+    public int getMaximumSize() { return maxSize; }
+    public int getSize() { return map.size(); }
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+
+    public double getHitRate() {
+        long h = hits.sum(), m = misses.sum();
+        return (h + m == 0) ? Double.NaN : (double)h / (h + m);
+    }
+
+    public void clear() {
+        map.clear();
+    }
+}
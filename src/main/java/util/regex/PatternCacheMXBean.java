@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+
+package java.util.regex;
+
+/**
+ * The management interface for the shared cache of compiled patterns
+ * used by {@link Pattern#matches(String,CharSequence)} and by the regular
+ * expression methods of {@link String}.
+ *
+ * <p> An instance of this interface is an {@link javax.management.MXBean
+ * MXBean} obtained by calling {@link Pattern#getCacheMXBean}.  The first
+ * such call registers the MXBean with the
+ * {@linkplain java.lang.management.ManagementFactory#getPlatformMBeanServer
+ * platform <tt>MBeanServer</tt>} under the
+ * {@link javax.management.ObjectName ObjectName}
+ * {@link Pattern#CACHE_MXBEAN_NAME java.util.regex:type=PatternCache}.
+ *
+ * <p> All counts are estimates that may be stale by the time they are
+ * returned.
+ *
+ * @see Pattern#cached(String,int)
+ * @since 1.8
+ */
+public interface PatternCacheMXBean {
+
+    /**
+     * Returns the maximum number of patterns held by the cache, or zero if
+     * the cache is disabled.
+     *
+     * @return the maximum number of cached patterns
+     */
+    int getMaximumSize();
+
+    /**
+     * Returns the number of patterns currently held by the cache.
+     *
+     * @return the number of cached patterns
+     */
+    int getSize();
+
+    /**
+     * Returns the number of lookups that found a cached pattern.
+     *
+     * @return the number of cache hits
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of lookups that had to compile a pattern.
+     *
+     * @return the number of cache misses
+     */
+    long getMissCount();
+
+    /**
+     * Returns the number of patterns evicted to keep the cache within its
+     * maximum size.
+     *
+     * @return the number of evictions
+     */
+    long getEvictionCount();
+
+    /**
+     * Returns the ratio of hits to lookups, or <tt>NaN</tt> if there have
+     * been no lookups.
+     *
+     * @return the cache hit rate
+     */
+    double getHitRate();
+
+    /**
+     * Removes all patterns from the cache.  The counters are not reset.
+     */
+    void clear();
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+
+package java.util.regex;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * An immutable set of compiled {@link Pattern}s that can be searched for
+ * in one input together.
+ *
+ * <p>{@link #matches(CharSequence)} reports which patterns of the set
+ * {@linkplain Matcher#find() find} a match anywhere in the input.  Rather
+ * than running every pattern over the input, it scans the input once
+ * with an Aho-Corasick automaton over the literals that the patterns are
+ * known to require (a literal every match contains, or a set of literals
+ * one of which every match begins with), and only runs the patterns
+ * whose required literals occur, plus those for which no literal could
+ * be extracted.  This makes searching for thousands of patterns, most of
+ * which do not match, about as cheap as a single scan of the input.
+ *
+ * <p>Literals are only extracted from case sensitive parts of a pattern;
+ * patterns compiled with {@link Pattern#CASE_INSENSITIVE}, for example,
+ * are always run.
+ *
+ * <p>Instances of this class are immutable and are safe for use by
+ * multiple concurrent threads.
+ *
+ * @since 1.8
+ */
+public final class PatternSet {
+
+    private final Pattern[] patterns;
+    private final AhoCorasick literals;     // or null if none
+    private final int[][] owners;           // literal id -> pattern indices
+    private final int[] unfiltered;         // patterns without literals
+
+    private PatternSet(Pattern[] patterns) {
+        this.patterns = patterns;
+        HashMap<String, Integer> ids = new HashMap<>();
+        ArrayList<int[]> lits = new ArrayList<>();
+        ArrayList<List<Integer>> own = new ArrayList<>();
+        ArrayList<Integer> rest = new ArrayList<>();
+        for (int i = 0; i < patterns.length; i++) {
+            int[][] req = patterns[i].requiredLiterals;
+            if (req == null) {
+                rest.add(i);
+                continue;
+            }
+            for (int[] lit : req) {
+                String key = new String(lit, 0, lit.length);
+                Integer id = ids.get(key);
+                if (id == null) {
+                    ids.put(key, id = lits.size());
+                    lits.add(lit);
+                    own.add(new ArrayList<>(1));
+                }
+                List<Integer> o = own.get(id);
+                if (o.isEmpty() || o.get(o.size() - 1) != i)
+                    o.add(i);
+            }
+        }
+        this.literals = lits.isEmpty() ? null :
+            new AhoCorasick(lits.toArray(new int[lits.size()][]));
+        this.owners = new int[own.size()][];
+        for (int id = 0; id < owners.length; id++)
+            owners[id] = toArray(own.get(id));
+        this.unfiltered = toArray(rest);
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] a = new int[list.size()];
+        for (int i = 0; i < a.length; i++)
+            a[i] = list.get(i);
+        return a;
+    }
+
+    /**
+     * Compiles the given regular expressions into a pattern set.
+     *
+     * @param regexes the expressions to be compiled
+     * @return the pattern set, in which the pattern at index {@code i}
+     *         is compiled from {@code regexes[i]}
+     * @throws PatternSyntaxException if an expression's syntax is invalid
+     * @throws NullPointerException if regexes or any element is null
+     */
+    public static PatternSet compile(String... regexes) {
+        return compile(java.util.Arrays.asList(regexes), 0);
+    }
+
+    /**
+     * Compiles the given regular expressions, in iteration order, into a
+     * pattern set, using the given flags.
+     *
+     * @param regexes the expressions to be compiled
+     * @param flags match flags, as for {@link Pattern#compile(String, int)}
+     * @return the pattern set
+     * @throws PatternSyntaxException if an expression's syntax is invalid
+     * @throws IllegalArgumentException if bit values other than those
+     *         corresponding to the defined match flags are set in flags
+     * @throws NullPointerException if regexes or any element is null
+     */
+    public static PatternSet compile(Collection<String> regexes, int flags) {
+        Pattern[] ps = new Pattern[regexes.size()];
+        int i = 0;
+        for (String regex : regexes)
+            ps[i++] = Pattern.compile(regex, flags);
+        return new PatternSet(ps);
+    }
+
+    /**
+     * Returns a pattern set of the given compiled patterns.
+     *
+     * @param patterns the patterns
+     * @return the pattern set
+     * @throws NullPointerException if patterns or any element is null
+     */
+    public static PatternSet of(Pattern... patterns) {
+        Pattern[] ps = patterns.clone();
+        for (Pattern p : ps) {
+            if (p == null)
+                throw new NullPointerException();
+        }
+        return new PatternSet(ps);
+    }
+
+    /**
+     * Returns the number of patterns in this set.
+     *
+     * @return the number of patterns in this set
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * Returns the pattern at the given index.
+     *
+     * @param index the index of the pattern
+     * @return the pattern
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public Pattern pattern(int index) {
+        return patterns[index];
+    }
+
+    /**
+     * Returns the indices of the patterns of this set that find a match
+     * anywhere in the given input.
+     *
+     * @param input the character sequence to be searched
+     * @return a new bit set with the bit of each matching pattern set
+     * @throws NullPointerException if input is null
+     */
+    public BitSet matches(CharSequence input) {
+        BitSet result = new BitSet(patterns.length);
+        BitSet candidates = candidates(input);
+        for (int i = candidates.nextSetBit(0); i >= 0;
+             i = candidates.nextSetBit(i + 1)) {
+            if (patterns[i].matcher(input).find())
+                result.set(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if any pattern of this set finds a match in the given
+     * input.
+     *
+     * @param input the character sequence to be searched
+     * @return true if any pattern of this set finds a match in the input
+     * @throws NullPointerException if input is null
+     */
+    public boolean matchesAny(CharSequence input) {
+        BitSet candidates = candidates(input);
+        for (int i = candidates.nextSetBit(0); i >= 0;
+             i = candidates.nextSetBit(i + 1)) {
+            if (patterns[i].matcher(input).find())
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Scans the input once, returning the patterns that may match: those
+     * whose required literals occur, and those without any.
+     */
+    private BitSet candidates(CharSequence input) {
+        BitSet cand = new BitSet(patterns.length);
+        for (int i : unfiltered)
+            cand.set(i);
+        AhoCorasick ac = literals;
+        if (ac != null) {
+            boolean[] seen = new boolean[ac.size()];
+            int len = input.length();
+            int s = ac.start();
+            for (int i = 0; i < len; i++) {
+                s = ac.step(s, input.charAt(i));
+                for (int t = (ac.terminal(s) >= 0) ? s : ac.dictLink(s);
+                     t >= 0; t = ac.dictLink(t)) {
+                    int id = ac.terminal(t);
+                    if (!seen[id]) {
+                        seen[id] = true;
+                        for (int p : owners[id])
+                            cand.set(p);
+                    }
+                }
+            }
+        }
+        return cand;
+    }
+
+    /**
+     * Returns a string listing the patterns of this set.
+     *
+     * @return a string listing the patterns of this set
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < patterns.length; i++) {
+            if (i > 0)
+                sb.append(", ");
+            sb.append(patterns[i].pattern());
+        }
+        return sb.append(']').toString();
+    }
+}
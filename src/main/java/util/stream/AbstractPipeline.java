@@ -74,6 +74,19 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
     private static final String MSG_STREAM_LINKED = "stream has already been operated upon or closed";
     private static final String MSG_CONSUMED = "source already consumed or closed";
 
+    /**
+     * The number of elements a primitive stream pulls from its source at a
+     * time when the source supports batch traversal.
+     */
+    static final int BATCH_SIZE = 1 << 10;
+
+    /**
+     * The exact source size below which a primitive stream does not bother
+     * with batch traversal.  Sources of unknown size are always traversed an
+     * element at a time.
+     */
+    static final int BATCH_THRESHOLD = 1 << 6;
+
     /**
      * Backlink to the head of the pipeline chain (self if this is the source
      * stage).
@@ -473,12 +486,18 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     final <P_IN> void copyInto(Sink<P_IN> wrappedSink, Spliterator<P_IN> spliterator) {
         Objects.requireNonNull(wrappedSink);
 
         if (!StreamOpFlag.SHORT_CIRCUIT.isKnown(getStreamAndOpFlags())) {
+            @SuppressWarnings({"rawtypes","unchecked"})
+            AbstractPipeline p = AbstractPipeline.this;
+            while (p.depth > 0) {
+                p = p.previousStage;
+            }
             wrappedSink.begin(spliterator.getExactSizeIfKnown());
-            spliterator.forEachRemaining(wrappedSink);
+            p.forEachRemaining(spliterator, wrappedSink);
             wrappedSink.end();
         }
         else {
@@ -604,6 +623,23 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
      */
     abstract void forEachWithCancel(Spliterator<E_OUT> spliterator, Sink<E_OUT> sink);
 
+    /**
+     * Traverse all elements of a spliterator compatible with this stream
+     * shape, pushing those elements into a sink.  Primitive stream shapes
+     * override this to push elements in batches, via
+     * {@link Sink#acceptAll(int[], int)} and friends, when the spliterator
+     * supports it.
+     *
+     * @implSpec The default implementation calls
+     * {@link Spliterator#forEachRemaining(java.util.function.Consumer)}.
+     *
+     * @param spliterator the spliterator to pull elements from
+     * @param sink the sink to push elements to
+     */
+    void forEachRemaining(Spliterator<E_OUT> spliterator, Sink<E_OUT> sink) {
+        spliterator.forEachRemaining(sink);
+    }
+
     /**
      * Make a node builder compatible with this stream shape.
      *
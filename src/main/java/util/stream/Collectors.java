@@ -46,11 +46,18 @@ import java.util.Set;
 import java.util.StringJoiner;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
@@ -196,6 +203,120 @@ public final class Collectors {
         }
     }
 
+    /**
+     * Simple implementation class for {@code IntCollector}.
+     *
+     * @param <R> the type of the result
+     */
+    static class IntCollectorImpl<A, R> implements IntCollector<A, R> {
+        private final Supplier<A> supplier;
+        private final ObjIntConsumer<A> accumulator;
+        private final BinaryOperator<A> combiner;
+        private final Function<A, R> finisher;
+        private final Set<Collector.Characteristics> characteristics;
+
+        IntCollectorImpl(Supplier<A> supplier,
+                         ObjIntConsumer<A> accumulator,
+                         BinaryOperator<A> combiner,
+                         Function<A,R> finisher,
+                         Set<Collector.Characteristics> characteristics) {
+            this.supplier = supplier;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+            this.finisher = finisher;
+            this.characteristics = characteristics;
+        }
+
+        IntCollectorImpl(Supplier<A> supplier,
+                         ObjIntConsumer<A> accumulator,
+                         BinaryOperator<A> combiner,
+                         Set<Collector.Characteristics> characteristics) {
+            this(supplier, accumulator, combiner, castingIdentity(), characteristics);
+        }
+
+        @Override
+        public ObjIntConsumer<A> accumulator() {
+            return accumulator;
+        }
+
+        @Override
+        public Supplier<A> supplier() {
+            return supplier;
+        }
+
+        @Override
+        public BinaryOperator<A> combiner() {
+            return combiner;
+        }
+
+        @Override
+        public Function<A, R> finisher() {
+            return finisher;
+        }
+
+        @Override
+        public Set<Collector.Characteristics> characteristics() {
+            return characteristics;
+        }
+    }
+
+    /**
+     * Simple implementation class for {@code LongCollector}.
+     *
+     * @param <R> the type of the result
+     */
+    static class LongCollectorImpl<A, R> implements LongCollector<A, R> {
+        private final Supplier<A> supplier;
+        private final ObjLongConsumer<A> accumulator;
+        private final BinaryOperator<A> combiner;
+        private final Function<A, R> finisher;
+        private final Set<Collector.Characteristics> characteristics;
+
+        LongCollectorImpl(Supplier<A> supplier,
+                         ObjLongConsumer<A> accumulator,
+                         BinaryOperator<A> combiner,
+                         Function<A,R> finisher,
+                         Set<Collector.Characteristics> characteristics) {
+            this.supplier = supplier;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+            this.finisher = finisher;
+            this.characteristics = characteristics;
+        }
+
+        LongCollectorImpl(Supplier<A> supplier,
+                         ObjLongConsumer<A> accumulator,
+                         BinaryOperator<A> combiner,
+                         Set<Collector.Characteristics> characteristics) {
+            this(supplier, accumulator, combiner, castingIdentity(), characteristics);
+        }
+
+        @Override
+        public ObjLongConsumer<A> accumulator() {
+            return accumulator;
+        }
+
+        @Override
+        public Supplier<A> supplier() {
+            return supplier;
+        }
+
+        @Override
+        public BinaryOperator<A> combiner() {
+            return combiner;
+        }
+
+        @Override
+        public Function<A, R> finisher() {
+            return finisher;
+        }
+
+        @Override
+        public Set<Collector.Characteristics> characteristics() {
+            return characteristics;
+        }
+    }
+
     /**
      * Returns a {@code Collector} that accumulates the input elements into a
      * new {@code Collection}, in encounter order.  The {@code Collection} is
@@ -405,12 +526,19 @@ public final class Collectors {
      *     reducing(0L, e -> 1L, Long::sum)
      * }</pre>
      *
+     * @implNote
+     * The count is accumulated into a {@code long} holder, as by
+     * {@link #summingLong(ToLongFunction) summingLong(e -> 1L)}, so that no
+     * {@code Long} is allocated per counted element.  This matters when the
+     * collector is used downstream of {@link #groupingBy(Function, Collector)}
+     * or {@link #partitioningBy(Predicate, Collector)}.
+     *
      * @param <T> the type of the input elements
      * @return a {@code Collector} that counts the input elements
      */
     public static <T> Collector<T, ?, Long>
     counting() {
-        return reducing(0L, e -> 1L, Long::sum);
+        return summingLong(e -> 1L);
     }
 
     /**
@@ -1091,6 +1219,195 @@ public final class Collectors {
         }
     }
 
+    /**
+     * Returns a concurrent {@code Collector} implementing a "group by"
+     * operation on input elements of type {@code T}, grouping elements
+     * according to a classification function and summing a {@code long}-valued
+     * function of the elements associated with each key.
+     *
+     * <p>This is a {@link Collector.Characteristics#CONCURRENT concurrent} and
+     * {@link Collector.Characteristics#UNORDERED unordered} Collector.
+     *
+     * <p>The classification function maps elements to some key type {@code K}.
+     * The collector produces a {@code ConcurrentMap<K, Long>} whose keys are
+     * the values resulting from applying the classification function to the
+     * input elements, and whose corresponding values are the sums of the
+     * mapping function applied to the input elements which map to the
+     * associated key.
+     *
+     * <p>There are no guarantees on the type, mutability, or serializability
+     * of the {@code ConcurrentMap} returned.
+     *
+     * @implSpec
+     * This produces a result equivalent to:
+     * <pre>{@code
+     *     groupingByConcurrent(classifier, summingLong(mapper));
+     * }</pre>
+     *
+     * @implNote
+     * Each key is backed by a {@link LongAdder} while the reduction is in
+     * progress, so that concurrent accumulation into a hot key neither
+     * allocates a {@code Long} per element nor serializes the accumulating
+     * threads on the result container.  The adders are replaced by their
+     * sums when the reduction completes.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the type of the keys
+     * @param classifier a classifier function mapping input elements to keys
+     * @param mapper a function extracting the property to be summed
+     * @return a concurrent, unordered {@code Collector} implementing the
+     *         group-by and summing operation
+     *
+     * @see #groupingByConcurrent(Function, Collector)
+     * @see #groupingByConcurrentCounting(Function)
+     */
+    public static <T, K>
+    Collector<T, ?, ConcurrentMap<K, Long>>
+    groupingByConcurrentSummingLong(Function<? super T, ? extends K> classifier,
+                                    ToLongFunction<? super T> mapper) {
+        Objects.requireNonNull(classifier);
+        Objects.requireNonNull(mapper);
+        BiConsumer<ConcurrentMap<K, LongAdder>, T> accumulator = (m, t) -> {
+            K key = Objects.requireNonNull(classifier.apply(t), "element cannot be mapped to a null key");
+            LongAdder adder = m.get(key);
+            if (adder == null)
+                adder = m.computeIfAbsent(key, k -> new LongAdder());
+            adder.add(mapper.applyAsLong(t));
+        };
+        BinaryOperator<ConcurrentMap<K, LongAdder>> merger =
+                Collectors.<K, LongAdder, ConcurrentMap<K, LongAdder>>mapMerger(
+                        (a, b) -> { a.add(b.sum()); return a; });
+        Function<ConcurrentMap<K, LongAdder>, ConcurrentMap<K, Long>> finisher = intermediate -> {
+            @SuppressWarnings("unchecked")
+            ConcurrentMap<K, Object> m = (ConcurrentMap<K, Object>) (ConcurrentMap<K, ?>) intermediate;
+            m.replaceAll((k, v) -> ((LongAdder) v).sum());
+            @SuppressWarnings("unchecked")
+            ConcurrentMap<K, Long> castResult = (ConcurrentMap<K, Long>) (ConcurrentMap<K, ?>) m;
+            return castResult;
+        };
+        return new CollectorImpl<>(ConcurrentHashMap::new, accumulator, merger, finisher, CH_CONCURRENT_NOID);
+    }
+
+    /**
+     * Returns a concurrent {@code Collector} implementing a "group by"
+     * operation on input elements of type {@code T}, counting the elements
+     * associated with each key.
+     *
+     * <p>This is a {@link Collector.Characteristics#CONCURRENT concurrent} and
+     * {@link Collector.Characteristics#UNORDERED unordered} Collector.
+     *
+     * @implSpec
+     * This produces a result equivalent to:
+     * <pre>{@code
+     *     groupingByConcurrentSummingLong(classifier, e -> 1L);
+     * }</pre>
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the type of the keys
+     * @param classifier a classifier function mapping input elements to keys
+     * @return a concurrent, unordered {@code Collector} implementing the
+     *         group-by and counting operation
+     *
+     * @see #groupingByConcurrentSummingLong(Function, ToLongFunction)
+     */
+    public static <T, K>
+    Collector<T, ?, ConcurrentMap<K, Long>>
+    groupingByConcurrentCounting(Function<? super T, ? extends K> classifier) {
+        return groupingByConcurrentSummingLong(classifier, e -> 1L);
+    }
+
+    /**
+     * Returns an {@code IntCollector} implementing a "group by" operation on
+     * {@code int} values, counting the values associated with each key.
+     *
+     * <p>The classification function maps values to some key type {@code K}.
+     * The collector produces a {@code Map<K, Long>} whose keys are the
+     * results of applying the classification function to the input values,
+     * and whose corresponding values are the number of input values which
+     * map to the associated key.
+     *
+     * <p>There are no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code Map} returned.
+     *
+     * @implNote
+     * Counts are accumulated into a {@code long} holder per key; a
+     * {@code Long} is only allocated per key when the reduction completes.
+     *
+     * @param <K> the type of the keys
+     * @param classifier a classifier function mapping input values to keys
+     * @return an {@code IntCollector} implementing the group-by operation
+     *
+     * @see #groupingByLong(LongFunction)
+     */
+    public static <K>
+    IntCollector<?, Map<K, Long>> groupingByInt(IntFunction<? extends K> classifier) {
+        Objects.requireNonNull(classifier);
+        ObjIntConsumer<Map<K, long[]>> accumulator = (m, i) -> {
+            K key = Objects.requireNonNull(classifier.apply(i), "element cannot be mapped to a null key");
+            m.computeIfAbsent(key, k -> new long[1])[0]++;
+        };
+        return new IntCollectorImpl<>(HashMap::new, accumulator,
+                                      Collectors.<K, long[], Map<K, long[]>>mapMerger(Collectors::sumCounts),
+                                      Collectors::finishCounts, CH_NOID);
+    }
+
+    /**
+     * Returns a {@code LongCollector} implementing a "group by" operation on
+     * {@code long} values, counting the values associated with each key.
+     *
+     * <p>The classification function maps values to some key type {@code K}.
+     * The collector produces a {@code Map<K, Long>} whose keys are the
+     * results of applying the classification function to the input values,
+     * and whose corresponding values are the number of input values which
+     * map to the associated key.
+     *
+     * <p>There are no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code Map} returned.
+     *
+     * @implNote
+     * Counts are accumulated into a {@code long} holder per key; a
+     * {@code Long} is only allocated per key when the reduction completes.
+     *
+     * @param <K> the type of the keys
+     * @param classifier a classifier function mapping input values to keys
+     * @return a {@code LongCollector} implementing the group-by operation
+     *
+     * @see #groupingByInt(IntFunction)
+     */
+    public static <K>
+    LongCollector<?, Map<K, Long>> groupingByLong(LongFunction<? extends K> classifier) {
+        Objects.requireNonNull(classifier);
+        ObjLongConsumer<Map<K, long[]>> accumulator = (m, l) -> {
+            K key = Objects.requireNonNull(classifier.apply(l), "element cannot be mapped to a null key");
+            m.computeIfAbsent(key, k -> new long[1])[0]++;
+        };
+        return new LongCollectorImpl<>(HashMap::new, accumulator,
+                                       Collectors.<K, long[], Map<K, long[]>>mapMerger(Collectors::sumCounts),
+                                       Collectors::finishCounts, CH_NOID);
+    }
+
+    /**
+     * Merge function for the single-element count holders used by
+     * {@code groupingByInt} and {@code groupingByLong}.
+     */
+    private static long[] sumCounts(long[] a, long[] b) {
+        a[0] += b[0];
+        return a;
+    }
+
+    /**
+     * Replaces, in place, each count holder of an intermediate map with its
+     * boxed count.
+     */
+    private static <K> Map<K, Long> finishCounts(Map<K, long[]> intermediate) {
+        @SuppressWarnings("unchecked")
+        Map<K, Object> m = (Map<K, Object>) (Map<K, ?>) intermediate;
+        m.replaceAll((k, v) -> ((long[]) v)[0]);
+        @SuppressWarnings("unchecked")
+        Map<K, Long> castResult = (Map<K, Long>) (Map<K, ?>) m;
+        return castResult;
+    }
+
     /**
      * Returns a {@code Collector} which partitions the input elements according
      * to a {@code Predicate}, and organizes them into a
@@ -1155,6 +1472,58 @@ public final class Collectors {
         }
     }
 
+    /**
+     * Returns an {@code IntCollector} which partitions the input values
+     * according to an {@code IntPredicate}, and counts the values in each
+     * partition into a {@code Map<Boolean, Long>}.
+     *
+     * <p>There are no guarantees on the type, mutability,
+     * serializability, or thread-safety of the {@code Map} returned.
+     *
+     * @implNote
+     * Both counts are accumulated into a single {@code long[2]} holder.
+     *
+     * @param predicate a predicate used for classifying input values
+     * @return an {@code IntCollector} implementing the partitioning operation
+     *
+     * @see #partitioningByLong(LongPredicate)
+     */
+    public static IntCollector<?, Map<Boolean, Long>>
+    partitioningByInt(IntPredicate predicate) {
+        Objects.requireNonNull(predicate);
+        return new IntCollectorImpl<long[], Map<Boolean, Long>>(
+                () -> new long[2],
+                (a, i) -> a[predicate.test(i) ? 1 : 0]++,
+                (a, b) -> { a[0] += b[0]; a[1] += b[1]; return a; },
+                a -> new Partition<>(a[1], a[0]), CH_NOID);
+    }
+
+    /**
+     * Returns a {@code LongCollector} which partitions the input values
+     * according to a {@code LongPredicate}, and counts the values in each
+     * partition into a {@code Map<Boolean, Long>}.
+     *
+     * <p>There are no guarantees on the type, mutability,
+     * serializability, or thread-safety of the {@code Map} returned.
+     *
+     * @implNote
+     * Both counts are accumulated into a single {@code long[2]} holder.
+     *
+     * @param predicate a predicate used for classifying input values
+     * @return a {@code LongCollector} implementing the partitioning operation
+     *
+     * @see #partitioningByInt(IntPredicate)
+     */
+    public static LongCollector<?, Map<Boolean, Long>>
+    partitioningByLong(LongPredicate predicate) {
+        Objects.requireNonNull(predicate);
+        return new LongCollectorImpl<long[], Map<Boolean, Long>>(
+                () -> new long[2],
+                (a, l) -> a[predicate.test(l) ? 1 : 0]++,
+                (a, b) -> { a[0] += b[0]; a[1] += b[1]; return a; },
+                a -> new Partition<>(a[1], a[0]), CH_NOID);
+    }
+
     /**
      * Returns a {@code Collector} that accumulates elements into a
      * {@code Map} whose keys and values are the result of applying the provided
@@ -159,6 +159,22 @@ abstract class DoublePipeline<E_IN>
         do { } while (!sink.cancellationRequested() && spl.tryAdvance(adaptedSink));
     }
 
+    @Override
+    final void forEachRemaining(Spliterator<Double> spliterator, Sink<Double> sink) {
+        Spliterator.OfDouble spl = adapt(spliterator);
+        long size = spl.getExactSizeIfKnown();
+        if (size >= BATCH_THRESHOLD && sink instanceof Sink.OfDouble) {
+            double[] buffer = new double[(int) Math.min(size, BATCH_SIZE)];
+            int n = spl.tryAdvanceBatch(buffer);
+            if (n >= 0) {
+                for (; n > 0; n = spl.tryAdvanceBatch(buffer))
+                    sink.acceptAll(buffer, n);
+                return;
+            }
+        }
+        spl.forEachRemaining(adapt(sink));
+    }
+
     @Override
     final  Node.Builder<Double> makeNodeBuilder(long exactSizeIfKnown, IntFunction<Double[]> generator) {
         return Nodes.doubleBuilder(exactSizeIfKnown);
@@ -196,6 +212,13 @@ abstract class DoublePipeline<E_IN>
                     public void accept(double t) {
                         downstream.accept(mapper.applyAsDouble(t));
                     }
+
+                    @Override
+                    public void acceptAll(double[] values, int count) {
+                        for (int i = 0; i < count; i++)
+                            values[i] = mapper.applyAsDouble(values[i]);
+                        downstream.acceptAll(values, count);
+                    }
                 };
             }
         };
@@ -307,6 +330,20 @@ abstract class DoublePipeline<E_IN>
                         if (predicate.test(t))
                             downstream.accept(t);
                     }
+
+                    @Override
+                    public void acceptAll(double[] values, int count) {
+                        // Compact the selected values to the front of the
+                        // buffer, then pass the selection on as one batch
+                        int selected = 0;
+                        for (int i = 0; i < count; i++) {
+                            double t = values[i];
+                            if (predicate.test(t))
+                                values[selected++] = t;
+                        }
+                        if (selected > 0)
+                            downstream.acceptAll(values, selected);
+                    }
                 };
             }
         };
@@ -162,6 +162,22 @@ abstract class IntPipeline<E_IN>
         do { } while (!sink.cancellationRequested() && spl.tryAdvance(adaptedSink));
     }
 
+    @Override
+    final void forEachRemaining(Spliterator<Integer> spliterator, Sink<Integer> sink) {
+        Spliterator.OfInt spl = adapt(spliterator);
+        long size = spl.getExactSizeIfKnown();
+        if (size >= BATCH_THRESHOLD && sink instanceof Sink.OfInt) {
+            int[] buffer = new int[(int) Math.min(size, BATCH_SIZE)];
+            int n = spl.tryAdvanceBatch(buffer);
+            if (n >= 0) {
+                for (; n > 0; n = spl.tryAdvanceBatch(buffer))
+                    sink.acceptAll(buffer, n);
+                return;
+            }
+        }
+        spl.forEachRemaining(adapt(sink));
+    }
+
     @Override
     final Node.Builder<Integer> makeNodeBuilder(long exactSizeIfKnown,
                                                 IntFunction<Integer[]> generator) {
@@ -232,6 +248,13 @@ abstract class IntPipeline<E_IN>
                     public void accept(int t) {
                         downstream.accept(mapper.applyAsInt(t));
                     }
+
+                    @Override
+                    public void acceptAll(int[] values, int count) {
+                        for (int i = 0; i < count; i++)
+                            values[i] = mapper.applyAsInt(values[i]);
+                        downstream.acceptAll(values, count);
+                    }
                 };
             }
         };
@@ -343,6 +366,20 @@ abstract class IntPipeline<E_IN>
                         if (predicate.test(t))
                             downstream.accept(t);
                     }
+
+                    @Override
+                    public void acceptAll(int[] values, int count) {
+                        // Compact the selected values to the front of the
+                        // buffer, then pass the selection on as one batch
+                        int selected = 0;
+                        for (int i = 0; i < count; i++) {
+                            int t = values[i];
+                            if (predicate.test(t))
+                                values[selected++] = t;
+                        }
+                        if (selected > 0)
+                            downstream.acceptAll(values, selected);
+                    }
                 };
             }
         };
@@ -472,6 +509,25 @@ abstract class IntPipeline<E_IN>
         return evaluate(ReduceOps.makeInt(supplier, accumulator, operator));
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public final <R, A> R collect(IntCollector<A, R> collector) {
+        A container;
+        if (isParallel()
+                && (collector.characteristics().contains(Collector.Characteristics.CONCURRENT))
+                && (!isOrdered() || collector.characteristics().contains(Collector.Characteristics.UNORDERED))) {
+            container = collector.supplier().get();
+            ObjIntConsumer<A> accumulator = collector.accumulator();
+            forEach(i -> accumulator.accept(container, i));
+        }
+        else {
+            container = evaluate(ReduceOps.makeInt(collector));
+        }
+        return collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+               ? (R) container
+               : collector.finisher().apply(container);
+    }
+
     @Override
     public final boolean anyMatch(IntPredicate predicate) {
         return evaluate(MatchOps.makeInt(predicate, MatchOps.MatchKind.ANY));
@@ -160,6 +160,22 @@ abstract class LongPipeline<E_IN>
         do { } while (!sink.cancellationRequested() && spl.tryAdvance(adaptedSink));
     }
 
+    @Override
+    final void forEachRemaining(Spliterator<Long> spliterator, Sink<Long> sink) {
+        Spliterator.OfLong spl = adapt(spliterator);
+        long size = spl.getExactSizeIfKnown();
+        if (size >= BATCH_THRESHOLD && sink instanceof Sink.OfLong) {
+            long[] buffer = new long[(int) Math.min(size, BATCH_SIZE)];
+            int n = spl.tryAdvanceBatch(buffer);
+            if (n >= 0) {
+                for (; n > 0; n = spl.tryAdvanceBatch(buffer))
+                    sink.acceptAll(buffer, n);
+                return;
+            }
+        }
+        spl.forEachRemaining(adapt(sink));
+    }
+
     @Override
     final Node.Builder<Long> makeNodeBuilder(long exactSizeIfKnown, IntFunction<Long[]> generator) {
         return Nodes.longBuilder(exactSizeIfKnown);
@@ -213,6 +229,13 @@ abstract class LongPipeline<E_IN>
                     public void accept(long t) {
                         downstream.accept(mapper.applyAsLong(t));
                     }
+
+                    @Override
+                    public void acceptAll(long[] values, int count) {
+                        for (int i = 0; i < count; i++)
+                            values[i] = mapper.applyAsLong(values[i]);
+                        downstream.acceptAll(values, count);
+                    }
                 };
             }
         };
@@ -324,6 +347,20 @@ abstract class LongPipeline<E_IN>
                         if (predicate.test(t))
                             downstream.accept(t);
                     }
+
+                    @Override
+                    public void acceptAll(long[] values, int count) {
+                        // Compact the selected values to the front of the
+                        // buffer, then pass the selection on as one batch
+                        int selected = 0;
+                        for (int i = 0; i < count; i++) {
+                            long t = values[i];
+                            if (predicate.test(t))
+                                values[selected++] = t;
+                        }
+                        if (selected > 0)
+                            downstream.acceptAll(values, selected);
+                    }
                 };
             }
         };
@@ -454,6 +491,25 @@ abstract class LongPipeline<E_IN>
         return evaluate(ReduceOps.makeLong(supplier, accumulator, operator));
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public final <R, A> R collect(LongCollector<A, R> collector) {
+        A container;
+        if (isParallel()
+                && (collector.characteristics().contains(Collector.Characteristics.CONCURRENT))
+                && (!isOrdered() || collector.characteristics().contains(Collector.Characteristics.UNORDERED))) {
+            container = collector.supplier().get();
+            ObjLongConsumer<A> accumulator = collector.accumulator();
+            forEach(i -> accumulator.accept(container, i));
+        }
+        else {
+            container = evaluate(ReduceOps.makeLong(collector));
+        }
+        return collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+               ? (R) container
+               : collector.finisher().apply(container);
+    }
+
     @Override
     public final boolean anyMatch(LongPredicate predicate) {
         return evaluate(MatchOps.makeLong(predicate, MatchOps.MatchKind.ANY));
@@ -451,6 +451,60 @@ public interface LongStream extends BaseStream<Long, LongStream> {
                   ObjLongConsumer<R> accumulator,
                   BiConsumer<R, R> combiner);
 
+    /**
+     * Performs a <a href="package-summary.html#MutableReduction">mutable
+     * reduction</a> operation on the elements of this stream using an
+     * {@code LongCollector}.  This is the {@code long} counterpart of
+     * {@link Stream#collect(Collector)}: elements are passed to the collector's
+     * accumulator as {@code long} values, so that they need not be boxed.
+     *
+     * <p>If the stream is parallel, and the {@code LongCollector}
+     * is {@link Collector.Characteristics#CONCURRENT concurrent}, and
+     * either the stream is unordered or the collector is
+     * {@link Collector.Characteristics#UNORDERED unordered},
+     * then a concurrent reduction will be performed (see {@link Collector} for
+     * details on concurrent reduction.)
+     *
+     * <p>This is a <a href="package-summary.html#StreamOps">terminal
+     * operation</a>.
+     *
+     * <p>For example, the following counts values by their last digit without
+     * allocating a {@code Long} per element:
+     * <pre>{@code
+     *     Map<Long, Long> byLastDigit
+     *         = longStream.collect(Collectors.groupingByLong(i -> i % 10));
+     * }</pre>
+     *
+     * @implSpec
+     * The default implementation boxes the elements of this stream and
+     * performs the reduction with an equivalent {@link Collector}:
+     * <pre>{@code
+     *     ObjLongConsumer<A> accumulator = collector.accumulator();
+     *     return boxed().collect(Collector.of(collector.supplier(),
+     *                                         (a, t) -> accumulator.accept(a, t),
+     *                                         collector.combiner(),
+     *                                         collector.finisher(),
+     *                                         characteristics));
+     * }</pre>
+     * where {@code characteristics} are those of {@code collector}.
+     *
+     * @param <R> the type of the result
+     * @param <A> the intermediate accumulation type of the {@code LongCollector}
+     * @param collector the {@code LongCollector} describing the reduction
+     * @return the result of the reduction
+     * @see #collect(Supplier, ObjLongConsumer, BiConsumer)
+     * @see Collectors
+     */
+    default <R, A> R collect(LongCollector<A, R> collector) {
+        ObjLongConsumer<A> accumulator = collector.accumulator();
+        return boxed().collect(Collector.of(collector.supplier(),
+                                            (A a, Long t) -> accumulator.accept(a, t),
+                                            collector.combiner(),
+                                            collector.finisher(),
+                                            collector.characteristics().toArray(
+                                                new Collector.Characteristics[0])));
+    }
+
     /**
      * Returns the sum of elements in this stream.  This is a special case
      * of a <a href="package-summary.html#Reduction">reduction</a>
@@ -258,6 +258,14 @@ final class ReduceOps {
                 state = operator.applyAsInt(state, t);
             }
 
+            @Override
+            public void acceptAll(int[] values, int count) {
+                int s = state;
+                for (int i = 0; i < count; i++)
+                    s = operator.applyAsInt(s, values[i]);
+                state = s;
+            }
+
             @Override
             public Integer get() {
                 return state;
@@ -369,6 +377,51 @@ final class ReduceOps {
         };
     }
 
+    /**
+     * Constructs a {@code TerminalOp} that implements a mutable reduce on
+     * {@code int} values, using an {@code IntCollector}.
+     *
+     * @param <I> the type of the intermediate reduction result
+     * @param collector an {@code IntCollector} defining the reduction
+     * @return a {@code ReduceOp} implementing the reduction
+     */
+    public static <I> TerminalOp<Integer, I>
+    makeInt(IntCollector<I, ?> collector) {
+        Supplier<I> supplier = Objects.requireNonNull(collector).supplier();
+        ObjIntConsumer<I> accumulator = collector.accumulator();
+        BinaryOperator<I> combiner = collector.combiner();
+        class ReducingSink extends Box<I>
+                implements AccumulatingSink<Integer, I, ReducingSink>, Sink.OfInt {
+            @Override
+            public void begin(long size) {
+                state = supplier.get();
+            }
+
+            @Override
+            public void accept(int t) {
+                accumulator.accept(state, t);
+            }
+
+            @Override
+            public void combine(ReducingSink other) {
+                state = combiner.apply(state, other.state);
+            }
+        }
+        return new ReduceOp<Integer, I, ReducingSink>(StreamShape.INT_VALUE) {
+            @Override
+            public ReducingSink makeSink() {
+                return new ReducingSink();
+            }
+
+            @Override
+            public int getOpFlags() {
+                return collector.characteristics().contains(Collector.Characteristics.UNORDERED)
+                       ? StreamOpFlag.NOT_ORDERED
+                       : 0;
+            }
+        };
+    }
+
     /**
      * Constructs a {@code TerminalOp} that implements a functional reduce on
      * {@code long} values.
@@ -394,6 +447,14 @@ final class ReduceOps {
                 state = operator.applyAsLong(state, t);
             }
 
+            @Override
+            public void acceptAll(long[] values, int count) {
+                long s = state;
+                for (int i = 0; i < count; i++)
+                    s = operator.applyAsLong(s, values[i]);
+                state = s;
+            }
+
             @Override
             public Long get() {
                 return state;
@@ -505,6 +566,51 @@ final class ReduceOps {
         };
     }
 
+    /**
+     * Constructs a {@code TerminalOp} that implements a mutable reduce on
+     * {@code long} values, using a {@code LongCollector}.
+     *
+     * @param <I> the type of the intermediate reduction result
+     * @param collector an {@code LongCollector} defining the reduction
+     * @return a {@code ReduceOp} implementing the reduction
+     */
+    public static <I> TerminalOp<Long, I>
+    makeLong(LongCollector<I, ?> collector) {
+        Supplier<I> supplier = Objects.requireNonNull(collector).supplier();
+        ObjLongConsumer<I> accumulator = collector.accumulator();
+        BinaryOperator<I> combiner = collector.combiner();
+        class ReducingSink extends Box<I>
+                implements AccumulatingSink<Long, I, ReducingSink>, Sink.OfLong {
+            @Override
+            public void begin(long size) {
+                state = supplier.get();
+            }
+
+            @Override
+            public void accept(long t) {
+                accumulator.accept(state, t);
+            }
+
+            @Override
+            public void combine(ReducingSink other) {
+                state = combiner.apply(state, other.state);
+            }
+        }
+        return new ReduceOp<Long, I, ReducingSink>(StreamShape.LONG_VALUE) {
+            @Override
+            public ReducingSink makeSink() {
+                return new ReducingSink();
+            }
+
+            @Override
+            public int getOpFlags() {
+                return collector.characteristics().contains(Collector.Characteristics.UNORDERED)
+                       ? StreamOpFlag.NOT_ORDERED
+                       : 0;
+            }
+        };
+    }
+
     /**
      * Constructs a {@code TerminalOp} that implements a functional reduce on
      * {@code double} values.
@@ -530,6 +636,14 @@ final class ReduceOps {
                 state = operator.applyAsDouble(state, t);
             }
 
+            @Override
+            public void acceptAll(double[] values, int count) {
+                double s = state;
+                for (int i = 0; i < count; i++)
+                    s = operator.applyAsDouble(s, values[i]);
+                state = s;
+            }
+
             @Override
             public Double get() {
                 return state;
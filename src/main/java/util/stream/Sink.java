@@ -181,6 +181,65 @@ interface Sink<T> extends Consumer<T> {
         throw new IllegalStateException("called wrong accept method");
     }
 
+    /**
+     * Accepts the first {@code count} values of an int array, in order, as if
+     * by calling {@link #accept(int)} for each of them.  This is used by the
+     * batch traversal of {@code int} sources so that stateless stages can
+     * process a chunk of values in a tight loop.
+     *
+     * <p>The array is a scratch buffer owned by the caller: the sink may
+     * overwrite any of its elements (for example, to map values in place or
+     * to compact the values that pass a filter to the front of the array),
+     * but must not retain a reference to it after returning.
+     *
+     * @implSpec The default implementation calls {@link #accept(int)} for
+     * each value.
+     *
+     * @param values the values to accept
+     * @param count the number of values, starting at index 0, to accept
+     * @throws IllegalStateException if this sink does not accept int values
+     */
+    default void acceptAll(int[] values, int count) {
+        for (int i = 0; i < count; i++)
+            accept(values[i]);
+    }
+
+    /**
+     * Accepts the first {@code count} values of a long array, in order, as if
+     * by calling {@link #accept(long)} for each of them.  The array is a
+     * scratch buffer owned by the caller, as described for
+     * {@link #acceptAll(int[], int)}.
+     *
+     * @implSpec The default implementation calls {@link #accept(long)} for
+     * each value.
+     *
+     * @param values the values to accept
+     * @param count the number of values, starting at index 0, to accept
+     * @throws IllegalStateException if this sink does not accept long values
+     */
+    default void acceptAll(long[] values, int count) {
+        for (int i = 0; i < count; i++)
+            accept(values[i]);
+    }
+
+    /**
+     * Accepts the first {@code count} values of a double array, in order, as
+     * if by calling {@link #accept(double)} for each of them.  The array is a
+     * scratch buffer owned by the caller, as described for
+     * {@link #acceptAll(int[], int)}.
+     *
+     * @implSpec The default implementation calls {@link #accept(double)} for
+     * each value.
+     *
+     * @param values the values to accept
+     * @param count the number of values, starting at index 0, to accept
+     * @throws IllegalStateException if this sink does not accept double values
+     */
+    default void acceptAll(double[] values, int count) {
+        for (int i = 0; i < count; i++)
+            accept(values[i]);
+    }
+
     /**
      * {@code Sink} that implements {@code Sink<Integer>}, re-abstracts
      * {@code accept(int)}, and wires {@code accept(Integer)} to bridge to
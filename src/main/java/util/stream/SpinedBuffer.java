@@ -688,6 +688,35 @@ class SpinedBuffer<E>
                 }
             }
 
+            /**
+             * Copies as many remaining elements as fit into
+             * {@code buffer}, a chunk at a time, and advances past them.
+             *
+             * @return the number of elements copied
+             */
+            int copyInto(T_ARR buffer) {
+                int length = arrayLength(buffer);
+                int n = 0;
+                while (n < length
+                       && (splSpineIndex < lastSpineIndex
+                           || (splSpineIndex == lastSpineIndex && splElementIndex < lastSpineElementFence))) {
+                    int fence = (splSpineIndex == lastSpineIndex)
+                                ? lastSpineElementFence
+                                : arrayLength(splChunk);
+                    int k = Math.min(fence - splElementIndex, length - n);
+                    System.arraycopy(splChunk, splElementIndex, buffer, n, k);
+                    n += k;
+                    splElementIndex += k;
+                    if (splElementIndex == arrayLength(splChunk)) {
+                        splElementIndex = 0;
+                        ++splSpineIndex;
+                        if (spine != null && splSpineIndex <= lastSpineIndex)
+                            splChunk = spine[splSpineIndex];
+                    }
+                }
+                return n;
+            }
+
             @Override
             public T_SPLITR trySplit() {
                 if (splSpineIndex < lastSpineIndex) {
@@ -805,6 +834,11 @@ class SpinedBuffer<E>
                     consumer.accept(array[index]);
                 }
 
+                @Override
+                public int tryAdvanceBatch(int[] buffer) {
+                    return copyInto(buffer);
+                }
+
                 @Override
                 Spliterator.OfInt arraySpliterator(int[] array, int offset, int len) {
                     return Arrays.spliterator(array, offset, offset+len);
@@ -919,6 +953,11 @@ class SpinedBuffer<E>
                     consumer.accept(array[index]);
                 }
 
+                @Override
+                public int tryAdvanceBatch(long[] buffer) {
+                    return copyInto(buffer);
+                }
+
                 @Override
                 Spliterator.OfLong arraySpliterator(long[] array, int offset, int len) {
                     return Arrays.spliterator(array, offset, offset+len);
@@ -1033,6 +1072,11 @@ class SpinedBuffer<E>
                     consumer.accept(array[index]);
                 }
 
+                @Override
+                public int tryAdvanceBatch(double[] buffer) {
+                    return copyInto(buffer);
+                }
+
                 @Override
                 Spliterator.OfDouble arraySpliterator(double[] array, int offset, int len) {
                     return Arrays.spliterator(array, offset, offset+len);
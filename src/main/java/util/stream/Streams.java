@@ -115,6 +115,22 @@ final class Streams {
             }
         }
 
+        @Override
+        public int tryAdvanceBatch(int[] buffer) {
+            int i = from;
+            int n = (int) Math.min((long) upTo - i, buffer.length);
+            for (int k = 0; k < n; k++) {
+                buffer[k] = i + k;
+            }
+            from = i += n;
+            if (n < buffer.length && last > 0) {
+                // Last element of closed range
+                last = 0;
+                buffer[n++] = i;
+            }
+            return n;
+        }
+
         @Override
         public long estimateSize() {
             // Ensure ranges of size > Integer.MAX_VALUE report the correct size
@@ -240,6 +256,25 @@ final class Streams {
             }
         }
 
+        @Override
+        public int tryAdvanceBatch(long[] buffer) {
+            long i = from;
+            // upTo - i may overflow for very large ranges, which only means
+            // the remaining range is larger than the buffer
+            long remaining = upTo - i;
+            int n = (remaining < 0 || remaining > buffer.length) ? buffer.length : (int) remaining;
+            for (int k = 0; k < n; k++) {
+                buffer[k] = i + k;
+            }
+            from = i += n;
+            if (n < buffer.length && last > 0) {
+                // Last element of closed range
+                last = 0;
+                buffer[n++] = i;
+            }
+            return n;
+        }
+
         @Override
         public long estimateSize() {
             return upTo - from + last;